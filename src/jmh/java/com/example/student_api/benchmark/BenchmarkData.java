@@ -0,0 +1,113 @@
+package com.example.student_api.benchmark;
+
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.util.ImageUtil;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Deterministic test data for benchmarks
+ * Everything is derived from a seeded Random, so every run measures the same inputs
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+
+    static final String[] FIRST_NAMES = {
+            "Aarav", "Amelia", "Carlos", "Chen", "Daniel", "Emma", "Fatima", "Grace", "Hiroshi", "Isabella",
+            "James", "Jana", "Kofi", "Laura", "Liam", "Maria", "Mateo", "Mei", "Mohammed", "Noah",
+            "Olivia", "Priya", "Rahul", "Sara", "Sofia", "Thomas", "Valentina", "Wei", "Yusuf", "Zoe"
+    };
+
+    static final String[] LAST_NAMES = {
+            "Ahmed", "Andersen", "Brown", "Costa", "Da Silva", "Dubois", "Fernandez", "Garcia", "Gupta", "Hansen",
+            "Ivanova", "Johnson", "Kim", "Kowalski", "Lee", "Martin", "Müller", "Nakamura", "Nguyen", "O'Brien",
+            "Okafor", "Patel", "Rossi", "Santos", "Schmidt", "Smith", "Suzuki", "Tanaka", "Wang", "Williams"
+    };
+
+    private static final LocalDate FIRST_BIRTH_DATE = LocalDate.of(1995, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Create a student with a realistic name, birth date and mobile number
+     *
+     * @param random Seeded random
+     * @return Student without ID or photo
+     */
+    static StudentDTO student(Random random) {
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        LocalDate birthDate = FIRST_BIRTH_DATE.plusDays(random.nextInt(3650));
+        String mobileNo = String.format("07%09d", random.nextInt(1_000_000_000));
+        return new StudentDTO(null, name, birthDate, mobileNo, null);
+    }
+
+    /**
+     * Draw a photo-like image: a gradient background with overlapping shapes and pixel noise,
+     * so encoders see both smooth areas and fine detail
+     *
+     * @param random Seeded random
+     * @param width Width in pixels
+     * @param height Height in pixels
+     * @param format ImageIO format name, e.g. jpeg or png
+     * @return Encoded image bytes
+     */
+    static byte[] photo(Random random, int width, int height, String format) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setPaint(new GradientPaint(0, 0, randomColor(random), width, height, randomColor(random)));
+        g2d.fillRect(0, 0, width, height);
+        for (int i = 0; i < 40; i++) {
+            g2d.setColor(randomColor(random));
+            int shapeWidth = 1 + random.nextInt(Math.max(1, width / 3));
+            int shapeHeight = 1 + random.nextInt(Math.max(1, height / 3));
+            g2d.fillOval(random.nextInt(width), random.nextInt(height), shapeWidth, shapeHeight);
+        }
+        g2d.dispose();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = image.getRGB(x, y);
+                int noise = random.nextInt(17) - 8;
+                image.setRGB(x, y, clamp((rgb >> 16 & 0xff) + noise) << 16
+                        | clamp((rgb >> 8 & 0xff) + noise) << 8
+                        | clamp((rgb & 0xff) + noise));
+            }
+        }
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ImageIO.write(image, format, bos);
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Shrink a photo to thumbnail size, as carried inline by student DTOs
+     *
+     * @param photo Encoded image bytes
+     * @return Thumbnail bytes
+     */
+    static byte[] thumbnail(byte[] photo) {
+        return ImageUtil.decodeFromBase64(ImageUtil.encodeToBase64(photo));
+    }
+
+    private static Color randomColor(Random random) {
+        return new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256));
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
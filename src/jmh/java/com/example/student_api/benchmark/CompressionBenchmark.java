@@ -0,0 +1,101 @@
+package com.example.student_api.benchmark;
+
+import com.example.student_api.dto.ApiResponse;
+import com.example.student_api.dto.PageResponse;
+import com.example.student_api.dto.StudentDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU cost of gzipping JSON responses against the bytes it saves
+ * Compresses a 20-student page with and without inline thumbnails at several deflate levels;
+ * Tomcat uses the default level 6. Sizes are printed once per trial as original and compressed
+ * bytes, so the time per operation can be weighed against the bytes saved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Djava.awt.headless=true"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CompressionBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int THUMBNAIL_SIZE = 150;
+
+    // Whether each student carries its own inline thumbnail
+    @Param({"false", "true"})
+    private boolean withPhotos;
+
+    @Param({"1", "6", "9"})
+    private int level;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Random random = new Random(BenchmarkData.SEED);
+        List<StudentDTO> students = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            StudentDTO studentDTO = BenchmarkData.student(random);
+            studentDTO.setId((long) i + 1);
+            studentDTO.setVersion(0L);
+            if (withPhotos) {
+                studentDTO.setPhotoBase64(BenchmarkData.thumbnail(
+                        BenchmarkData.photo(random, THUMBNAIL_SIZE, THUMBNAIL_SIZE, "jpeg")));
+            }
+            students.add(studentDTO);
+        }
+        ApiResponse<PageResponse<StudentDTO>> pageResponse = ApiResponse.success(
+                new PageResponse<>(students, 0, 500, 10_000, PAGE_SIZE), "Students retrieved successfully");
+        json = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(pageResponse);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportSizes() throws IOException {
+        int compressed = gzip().length;
+        System.out.printf("%nwithPhotos=%s level=%d: %d -> %d bytes (%.1f%% saved)%n", withPhotos, level,
+                json.length, compressed, 100.0 * (json.length - compressed) / json.length);
+    }
+
+    @Benchmark
+    public byte[] gzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length);
+        try (LevelGZIPOutputStream out = new LevelGZIPOutputStream(bytes, level)) {
+            out.write(json);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * GZIPOutputStream with a configurable deflate level
+     */
+    private static final class LevelGZIPOutputStream extends GZIPOutputStream {
+
+        LevelGZIPOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.student_api.benchmark;
+
+import com.example.student_api.service.ImageProcessingEngine;
+import com.example.student_api.util.ImageInfo;
+import com.example.student_api.util.ImageUtil;
+import com.example.student_api.util.Thumbnail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thumbnail pipeline benchmarks across photo sizes and formats
+ * createThumbnail runs the same ImageProcessingEngine code as uploads, imports and the backfill,
+ * on the benchmark thread so pool hand-off is not measured. encodeToBase64 covers the private
+ * resizeImage path; the other benchmarks time single stages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Djava.awt.headless=true"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ImageUtilBenchmark {
+
+    @Param({"640x480", "1920x1080", "4032x3024"})
+    private String size;
+
+    @Param({"jpeg", "png"})
+    private String format;
+
+    private ImageProcessingEngine imageProcessingEngine;
+    private byte[] photo;
+    private ImageInfo imageInfo;
+    private BufferedImage decodedImage;
+
+    @Setup
+    public void setUp() throws IOException {
+        imageProcessingEngine = new ImageProcessingEngine(new SimpleMeterRegistry(), 1, 1, 0.85f,
+                Duration.ofSeconds(30));
+        String[] dimensions = size.split("x");
+        photo = BenchmarkData.photo(new Random(BenchmarkData.SEED), Integer.parseInt(dimensions[0]),
+                Integer.parseInt(dimensions[1]), format);
+        imageInfo = ImageUtil.readImageInfo(new ByteArrayInputStream(photo));
+        decodedImage = ImageUtil.readSubsampled(photo, ImageUtil.thumbnailSubsampling(imageInfo));
+    }
+
+    @Benchmark
+    public String encodeToBase64() {
+        return ImageUtil.encodeToBase64(photo);
+    }
+
+    @Benchmark
+    public Thumbnail createThumbnail() {
+        return imageProcessingEngine.createThumbnailInCurrentThread(photo);
+    }
+
+    @Benchmark
+    public BufferedImage decodeSubsampled() throws IOException {
+        return ImageUtil.readSubsampled(photo, ImageUtil.thumbnailSubsampling(imageInfo));
+    }
+
+    @Benchmark
+    public BufferedImage scaleToFit() {
+        return ImageUtil.scaleToFit(decodedImage);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.student_api.benchmark;
+
+import com.example.student_api.dto.ApiResponse;
+import com.example.student_api.dto.PageResponse;
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.model.Student;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO conversion and JSON serialization of a typical paged response
+ * The ObjectMapper is built with the same defaults Spring Boot applies to MVC responses
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Djava.awt.headless=true"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StudentDtoBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    // Whether each student carries an inline thumbnail
+    @Param({"false", "true"})
+    private boolean withPhotos;
+
+    private Student student;
+    private ApiResponse<PageResponse<StudentDTO>> pageResponse;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkData.SEED);
+        byte[] thumbnail = withPhotos
+                ? BenchmarkData.thumbnail(BenchmarkData.photo(random, 1920, 1080, "jpeg"))
+                : null;
+        List<StudentDTO> students = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            StudentDTO studentDTO = BenchmarkData.student(random);
+            studentDTO.setId((long) i + 1);
+            studentDTO.setPhotoBase64(thumbnail);
+            students.add(studentDTO);
+        }
+        student = students.get(0).toEntity();
+        pageResponse = ApiResponse.success(new PageResponse<>(students, 0, 500, 10_000, PAGE_SIZE),
+                "Students retrieved successfully");
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public StudentDTO fromEntity() {
+        return StudentDTO.fromEntity(student);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+}
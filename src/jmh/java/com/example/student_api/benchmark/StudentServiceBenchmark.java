@@ -0,0 +1,151 @@
+package com.example.student_api.benchmark;
+
+import com.example.student_api.StudentApplication;
+import com.example.student_api.dto.PhotoMode;
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.search.StudentNameIndex;
+import com.example.student_api.service.StudentBulkService;
+import com.example.student_api.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudentService list and search paths against an embedded H2 database
+ * Each fork starts the application with the benchmark profile and seeds it through the bulk API,
+ * so IDs, thumbnails and the name index are built exactly as in production
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Djava.awt.headless=true"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StudentServiceBenchmark {
+
+    private static final int STUDENT_COUNT = 10_000;
+    private static final int PHOTO_EVERY = 10;
+    private static final int SEED_BATCH_SIZE = 1_000;
+    private static final int PAGE_SIZE = 20;
+    private static final long INDEX_LOAD_TIMEOUT_MILLIS = 60_000;
+
+    // Search terms cover full names, first names, surnames and infixes
+    private static final String[] SEARCH_TERMS = {"Maria Garcia", "Chen", "Smith", "son", "ana", "Kowal", "li"};
+
+    // Whether name searches use the in-memory index or fall back to LIKE queries
+    @Param({"true", "false"})
+    private boolean nameIndex;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private int pageCount;
+    private int pageCursor;
+    private int termCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = new SpringApplicationBuilder(StudentApplication.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.NONE)
+                .properties("student.search.index.enabled=" + nameIndex)
+                .run();
+        studentService = context.getBean(StudentService.class);
+        seed(context.getBean(StudentBulkService.class));
+        pageCount = STUDENT_COUNT / PAGE_SIZE;
+
+        StudentNameIndex studentNameIndex = context.getBean(StudentNameIndex.class);
+        long deadline = System.currentTimeMillis() + INDEX_LOAD_TIMEOUT_MILLIS;
+        while (nameIndex && !studentNameIndex.isAvailable()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Name index did not load within " + INDEX_LOAD_TIMEOUT_MILLIS + " ms");
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Page<StudentDTO> pagedInline() {
+        return studentService.getAllStudentsPaginated(nextPage(), PhotoMode.INLINE);
+    }
+
+    @Benchmark
+    public Page<StudentDTO> pagedUrl() {
+        return studentService.getAllStudentsPaginated(nextPage(), PhotoMode.URL);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<StudentDTO> getAllStudentsUrl() {
+        return studentService.getAllStudents(PhotoMode.URL);
+    }
+
+    @Benchmark
+    public List<StudentDTO> search() {
+        return studentService.getStudentsByName(nextTerm(), PhotoMode.URL);
+    }
+
+    @Benchmark
+    public Page<StudentDTO> searchPaged() {
+        return studentService.getStudentsByNamePaginated(nextTerm(), PageRequest.of(0, PAGE_SIZE, Sort.by("id")),
+                PhotoMode.URL);
+    }
+
+    private Pageable nextPage() {
+        pageCursor = (pageCursor + 1) % pageCount;
+        return PageRequest.of(pageCursor, PAGE_SIZE, Sort.by("id"));
+    }
+
+    private String nextTerm() {
+        termCursor = (termCursor + 1) % SEARCH_TERMS.length;
+        return SEARCH_TERMS[termCursor];
+    }
+
+    private static void seed(StudentBulkService studentBulkService) {
+        Random random = new Random(BenchmarkData.SEED);
+        byte[] photo = BenchmarkData.thumbnail(BenchmarkData.photo(random, 1280, 960, "jpeg"));
+        List<StudentDTO> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < STUDENT_COUNT; i++) {
+            StudentDTO studentDTO = BenchmarkData.student(random);
+            if (i % PHOTO_EVERY == 0) {
+                studentDTO.setPhotoBase64(photo);
+            }
+            batch.add(studentDTO);
+            if (batch.size() == SEED_BATCH_SIZE) {
+                studentBulkService.createStudents(batch);
+                batch = new ArrayList<>(SEED_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            studentBulkService.createStudents(batch);
+        }
+    }
+}
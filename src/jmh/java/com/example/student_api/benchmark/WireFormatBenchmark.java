@@ -0,0 +1,96 @@
+package com.example.student_api.benchmark;
+
+import com.example.student_api.dto.ApiResponse;
+import com.example.student_api.dto.PageResponse;
+import com.example.student_api.dto.StudentDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON against CBOR and Smile for a paged response
+ * Encodes and decodes a 20-student page with and without inline thumbnails. CBOR and Smile carry
+ * photos as raw bytes, JSON as Base64 text. Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Djava.awt.headless=true"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WireFormatBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int THUMBNAIL_SIZE = 150;
+    private static final TypeReference<ApiResponse<PageResponse<StudentDTO>>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    // Whether each student carries its own inline thumbnail
+    @Param({"false", "true"})
+    private boolean withPhotos;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<PageResponse<StudentDTO>> pageResponse;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(BenchmarkData.SEED);
+        List<StudentDTO> students = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            StudentDTO studentDTO = BenchmarkData.student(random);
+            studentDTO.setId((long) i + 1);
+            studentDTO.setVersion(0L);
+            if (withPhotos) {
+                studentDTO.setPhotoBase64(BenchmarkData.thumbnail(
+                        BenchmarkData.photo(random, THUMBNAIL_SIZE, THUMBNAIL_SIZE, "jpeg")));
+            }
+            students.add(studentDTO);
+        }
+        pageResponse = ApiResponse.success(new PageResponse<>(students, 0, 500, 10_000, PAGE_SIZE),
+                "Students retrieved successfully");
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        encoded = objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportSize() {
+        System.out.printf("%nformat=%s withPhotos=%s: %d bytes%n", format, withPhotos, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    @Benchmark
+    public ApiResponse<PageResponse<StudentDTO>> decode() throws IOException {
+        return objectMapper.readValue(encoded, PAGE_TYPE);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.student_api.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Thread-safe set of student IDs with random picks and constant time removal
+ */
+final class IdPool {
+
+    private final List<Long> ids = new ArrayList<>();
+    private final Map<Long, Integer> positions = new HashMap<>();
+
+    synchronized void add(long id) {
+        if (positions.putIfAbsent(id, ids.size()) == null) {
+            ids.add(id);
+        }
+    }
+
+    synchronized void addAll(List<Long> newIds) {
+        for (Long id : newIds) {
+            add(id);
+        }
+    }
+
+    /**
+     * @return A random ID, or null if the pool is empty
+     */
+    synchronized Long pick(Random random) {
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+
+    /**
+     * Remove and return a random ID
+     *
+     * @return The removed ID, or null if the pool is empty
+     */
+    synchronized Long take(Random random) {
+        if (ids.isEmpty()) {
+            return null;
+        }
+        Long id = ids.get(random.nextInt(ids.size()));
+        remove(id);
+        return id;
+    }
+
+    synchronized void remove(long id) {
+        Integer position = positions.remove(id);
+        if (position == null) {
+            return;
+        }
+        Long last = ids.remove(ids.size() - 1);
+        if (position < ids.size()) {
+            ids.set(position, last);
+            positions.put(last, position);
+        }
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+}
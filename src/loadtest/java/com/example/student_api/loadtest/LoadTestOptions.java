@@ -0,0 +1,243 @@
+package com.example.student_api.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line options for the load test, given as --name=value
+ */
+final class LoadTestOptions {
+
+    /**
+     * Share of seeded and created students whose photo has the given size
+     * A width and height of 0 means no photo
+     */
+    record PhotoBucket(int width, int height, int weight) {
+
+        boolean hasPhoto() {
+            return width > 0 && height > 0;
+        }
+
+        String label() {
+            return hasPhoto() ? width + "x" + height : "none";
+        }
+    }
+
+    private static final String USAGE = """
+            Usage: StudentLoadTest [--name=value ...]
+              --base-url=http://localhost:8081   Application under test
+              --students=10000                   Students to seed; 0 uses the students already stored
+              --seed-batch-size=500              Students per bulk create request
+              --seed-concurrency=4               Bulk create requests in flight while seeding
+              --photo-sizes=none:70,320x240:20,1920x1080:8,4032x3024:2
+                                                 Photo size distribution as size:weight pairs
+              --photo-variants=4                 Distinct images generated per photo size
+              --rps=100                          Target request rate
+              --warmup=30s                       Warmup at the target rate, excluded from the report
+              --duration=2m                      Measured run at the target rate
+              --mix=paged:35,search:25,get:25,create:5,update:5,delete:5
+                                                 Workload mix as operation:weight pairs
+              --page-size=20                     Page size for paged and search requests
+              --photos=inline                    Photo representation for reads: inline or url
+              --max-in-flight=512                Requests outstanding before the generator waits
+              --timeout=30s                      Per-request timeout
+              --report-interval=10s              Interval between progress lines
+              --output=target/loadtest-result.json
+              --random-seed=42                   Seed for generated data and the request sequence
+            """;
+
+    private String baseUrl = "http://localhost:8081";
+    private int students = 10_000;
+    private int seedBatchSize = 500;
+    private int seedConcurrency = 4;
+    private List<PhotoBucket> photoSizes = parsePhotoSizes("none:70,320x240:20,1920x1080:8,4032x3024:2");
+    private int photoVariants = 4;
+    private double rps = 100;
+    private Duration warmup = Duration.ofSeconds(30);
+    private Duration duration = Duration.ofMinutes(2);
+    private Map<Operation, Integer> mix = parseMix("paged:35,search:25,get:25,create:5,update:5,delete:5");
+    private int pageSize = 20;
+    private String photos = "inline";
+    private int maxInFlight = 512;
+    private Duration timeout = Duration.ofSeconds(30);
+    private Duration reportInterval = Duration.ofSeconds(10);
+    private Path output = Path.of("target", "loadtest-result.json");
+    private long randomSeed = 42L;
+
+    private LoadTestOptions() {
+    }
+
+    /**
+     * Parse command line arguments
+     *
+     * @param args Arguments of the form --name=value
+     * @return Parsed options
+     * @throws IllegalArgumentException if an argument is unknown or invalid
+     */
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg + "\n" + USAGE);
+            }
+            options.set(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        if (options.rps <= 0) {
+            throw new IllegalArgumentException("--rps must be positive");
+        }
+        if (options.students < 0 || options.seedBatchSize < 1 || options.seedConcurrency < 1
+                || options.photoVariants < 1 || options.pageSize < 1 || options.maxInFlight < 1) {
+            throw new IllegalArgumentException("Counts and sizes must be positive\n" + USAGE);
+        }
+        return options;
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "base-url" -> baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+            case "students" -> students = Integer.parseInt(value);
+            case "seed-batch-size" -> seedBatchSize = Integer.parseInt(value);
+            case "seed-concurrency" -> seedConcurrency = Integer.parseInt(value);
+            case "photo-sizes" -> photoSizes = parsePhotoSizes(value);
+            case "photo-variants" -> photoVariants = Integer.parseInt(value);
+            case "rps" -> rps = Double.parseDouble(value);
+            case "warmup" -> warmup = parseDuration(value);
+            case "duration" -> duration = parseDuration(value);
+            case "mix" -> mix = parseMix(value);
+            case "page-size" -> pageSize = Integer.parseInt(value);
+            case "photos" -> photos = value;
+            case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+            case "timeout" -> timeout = parseDuration(value);
+            case "report-interval" -> reportInterval = parseDuration(value);
+            case "output" -> output = Path.of(value);
+            case "random-seed" -> randomSeed = Long.parseLong(value);
+            default -> throw new IllegalArgumentException("Unknown option: --" + name + "\n" + USAGE);
+        }
+    }
+
+    /**
+     * Parse a duration such as 500ms, 30s, 2m or 1h
+     */
+    static Duration parseDuration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        long amount = Long.parseLong(text.substring(0, text.length() - 1));
+        return switch (text.charAt(text.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Invalid duration: " + value);
+        };
+    }
+
+    private static List<PhotoBucket> parsePhotoSizes(String value) {
+        List<PhotoBucket> buckets = new ArrayList<>();
+        for (String pair : value.split(",")) {
+            String[] parts = pair.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected size:weight but got: " + pair);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (parts[0].equalsIgnoreCase("none")) {
+                buckets.add(new PhotoBucket(0, 0, weight));
+            } else {
+                String[] dimensions = parts[0].toLowerCase(Locale.ROOT).split("x");
+                buckets.add(new PhotoBucket(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), weight));
+            }
+        }
+        return Collections.unmodifiableList(buckets);
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String pair : value.split(",")) {
+            String[] parts = pair.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got: " + pair);
+            }
+            weights.put(Operation.fromOption(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+
+    // Getters
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int getStudents() {
+        return students;
+    }
+
+    public int getSeedBatchSize() {
+        return seedBatchSize;
+    }
+
+    public int getSeedConcurrency() {
+        return seedConcurrency;
+    }
+
+    public List<PhotoBucket> getPhotoSizes() {
+        return photoSizes;
+    }
+
+    public int getPhotoVariants() {
+        return photoVariants;
+    }
+
+    public double getRps() {
+        return rps;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public String getPhotos() {
+        return photos;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public Duration getReportInterval() {
+        return reportInterval;
+    }
+
+    public Path getOutput() {
+        return output;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.student_api.loadtest;
+
+/**
+ * Request types in the mixed workload
+ */
+enum Operation {
+    PAGED("GET /api/students/paged"),
+    SEARCH("GET /api/students/search/paged"),
+    GET("GET /api/students/{id}"),
+    CREATE("POST /api/students"),
+    UPDATE("PUT /api/students/{id}"),
+    DELETE("DELETE /api/students/{id}");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Parse an option value
+     *
+     * @param value Operation name, case insensitive
+     * @return Matching operation
+     * @throws IllegalArgumentException if the value is not a known operation
+     */
+    static Operation fromOption(String value) {
+        for (Operation operation : values()) {
+            if (operation.name().equalsIgnoreCase(value)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + value);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.student_api.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error count for one operation
+ * Latencies are recorded in microseconds from each request's scheduled send time, so time spent
+ * waiting behind a slow server counts against it instead of silently lowering the request rate
+ */
+final class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Operation operation;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder intervalErrors = new LongAdder();
+    private Histogram interval;
+
+    OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Record a completed request; called from HTTP client threads
+     *
+     * @param latencyNanos Time from the scheduled send time to the response
+     * @param success Whether the response had a 2xx status
+     */
+    void record(long latencyNanos, boolean success) {
+        long micros = Math.max(1, Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        recorder.recordValue(micros);
+        if (!success) {
+            errors.increment();
+            intervalErrors.increment();
+        }
+    }
+
+    /**
+     * Move the requests recorded since the last call into the run total
+     *
+     * @return Histogram of the interval; valid until the next call
+     */
+    synchronized Histogram sampleInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return interval;
+    }
+
+    /**
+     * @return Errors since the last call
+     */
+    long sampleIntervalErrors() {
+        return intervalErrors.sumThenReset();
+    }
+
+    /**
+     * Discard everything recorded so far, e.g. at the end of the warmup
+     */
+    synchronized void reset() {
+        recorder.reset();
+        total.reset();
+        errors.reset();
+        intervalErrors.reset();
+    }
+
+    /**
+     * @return Copy of all requests recorded since the last reset
+     */
+    synchronized Histogram getTotal() {
+        return total.copy();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    Operation getOperation() {
+        return operation;
+    }
+}
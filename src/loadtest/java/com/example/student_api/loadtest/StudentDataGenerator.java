@@ -0,0 +1,190 @@
+package com.example.student_api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic students and photos
+ * Photos are drawn once per size and variant up front, so generating a request costs
+ * no image encoding and the photo size distribution stays exact
+ */
+final class StudentDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Amelia", "Carlos", "Chen", "Daniel", "Emma", "Fatima", "Grace", "Hiroshi", "Isabella",
+            "James", "Jana", "Kofi", "Laura", "Liam", "Maria", "Mateo", "Mei", "Mohammed", "Noah",
+            "Olivia", "Priya", "Rahul", "Sara", "Sofia", "Thomas", "Valentina", "Wei", "Yusuf", "Zoe"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Ahmed", "Andersen", "Brown", "Costa", "Da Silva", "Dubois", "Fernandez", "Garcia", "Gupta", "Hansen",
+            "Ivanova", "Johnson", "Kim", "Kowalski", "Lee", "Martin", "Müller", "Nakamura", "Nguyen", "O'Brien",
+            "Okafor", "Patel", "Rossi", "Santos", "Schmidt", "Smith", "Suzuki", "Tanaka", "Wang", "Williams"
+    };
+
+    private static final LocalDate FIRST_BIRTH_DATE = LocalDate.of(1995, 1, 1);
+
+    private final ObjectMapper objectMapper;
+    private final List<LoadTestOptions.PhotoBucket> buckets;
+    private final List<List<String>> photosByBucket;
+    private final int totalWeight;
+
+    StudentDataGenerator(ObjectMapper objectMapper, List<LoadTestOptions.PhotoBucket> buckets, int variants,
+                         Random random) {
+        this.objectMapper = objectMapper;
+        this.buckets = buckets;
+        this.photosByBucket = new ArrayList<>(buckets.size());
+        int weight = 0;
+        for (LoadTestOptions.PhotoBucket bucket : buckets) {
+            List<String> photos = new ArrayList<>(variants);
+            if (bucket.hasPhoto()) {
+                for (int i = 0; i < variants; i++) {
+                    photos.add(Base64.getEncoder().encodeToString(photo(random, bucket.width(), bucket.height())));
+                }
+            }
+            photosByBucket.add(photos);
+            weight += bucket.weight();
+        }
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Photo size weights must add up to more than 0");
+        }
+        this.totalWeight = weight;
+    }
+
+    /**
+     * Create a student request body with a photo drawn from the size distribution
+     *
+     * @param random Random source
+     * @return JSON object with name, birthDate, mobileNo and optionally photoBase64
+     */
+    ObjectNode student(Random random) {
+        ObjectNode student = studentWithoutPhoto(random);
+        String photoBase64 = randomPhoto(random);
+        if (photoBase64 != null) {
+            student.put("photoBase64", photoBase64);
+        }
+        return student;
+    }
+
+    /**
+     * Create a student request body without a photo, as sent by updates
+     *
+     * @param random Random source
+     * @return JSON object with name, birthDate and mobileNo
+     */
+    ObjectNode studentWithoutPhoto(Random random) {
+        ObjectNode student = objectMapper.createObjectNode();
+        student.put("name", FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        student.put("birthDate", FIRST_BIRTH_DATE.plusDays(random.nextInt(3650)).toString());
+        student.put("mobileNo", String.format("07%09d", random.nextInt(1_000_000_000)));
+        return student;
+    }
+
+    /**
+     * Pick a search term: a full name, first name, surname or a three letter fragment of one
+     *
+     * @param random Random source
+     * @return Search term
+     */
+    String searchTerm(Random random) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return switch (random.nextInt(4)) {
+            case 0 -> firstName + " " + lastName;
+            case 1 -> firstName;
+            case 2 -> lastName;
+            default -> {
+                int start = random.nextInt(lastName.length() - 2);
+                yield lastName.substring(start, start + 3);
+            }
+        };
+    }
+
+    /**
+     * Describe the photo size distribution for the run summary
+     */
+    String describePhotoSizes() {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < buckets.size(); i++) {
+            LoadTestOptions.PhotoBucket bucket = buckets.get(i);
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            description.append(bucket.label())
+                    .append(' ')
+                    .append(Math.round(100.0 * bucket.weight() / totalWeight))
+                    .append('%');
+            if (bucket.hasPhoto()) {
+                long averageBytes = (long) photosByBucket.get(i).stream().mapToInt(String::length).average()
+                        .orElse(0) * 3 / 4;
+                description.append(" (~").append(averageBytes / 1024).append(" KB)");
+            }
+        }
+        return description.toString();
+    }
+
+    private String randomPhoto(Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < buckets.size(); i++) {
+            pick -= buckets.get(i).weight();
+            if (pick < 0) {
+                List<String> photos = photosByBucket.get(i);
+                return photos.isEmpty() ? null : photos.get(random.nextInt(photos.size()));
+            }
+        }
+        return null;
+    }
+
+    // A gradient with overlapping shapes and pixel noise, so JPEG sizes resemble camera photos
+    private static byte[] photo(Random random, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setPaint(new GradientPaint(0, 0, randomColor(random), width, height, randomColor(random)));
+        g2d.fillRect(0, 0, width, height);
+        for (int i = 0; i < 40; i++) {
+            g2d.setColor(randomColor(random));
+            g2d.fillOval(random.nextInt(width), random.nextInt(height),
+                    1 + random.nextInt(Math.max(1, width / 3)), 1 + random.nextInt(Math.max(1, height / 3)));
+        }
+        g2d.dispose();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = image.getRGB(x, y);
+                int noise = random.nextInt(17) - 8;
+                image.setRGB(x, y, clamp((rgb >> 16 & 0xff) + noise) << 16
+                        | clamp((rgb >> 8 & 0xff) + noise) << 8
+                        | clamp((rgb & 0xff) + noise));
+            }
+        }
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpeg", bos);
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Color randomColor(Random random) {
+        return new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256));
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
@@ -0,0 +1,421 @@
+package com.example.student_api.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for the student API
+ * Seeds the running application through the bulk endpoint, then sends a weighted mix of list,
+ * search, get, create, update and delete requests at a fixed rate regardless of response times.
+ * Prints per-operation throughput and latency percentiles and writes them to a JSON file.
+ * Deletes only remove students created during the run, so the seeded data set stays intact.
+ */
+public final class StudentLoadTest {
+
+    private static final int DISCOVERY_PAGE_SIZE = 100;
+    private static final int MAX_FAILURE_KEYS = 50;
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final Random random;
+    private final StudentDataGenerator generator;
+    private final IdPool ids = new IdPool();
+    private final IdPool createdIds = new IdPool();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final Semaphore inFlight;
+    private final int totalMixWeight;
+    private volatile String phase = "warmup";
+    private volatile long phaseStartNanos;
+
+    StudentLoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.random = new Random(options.getRandomSeed());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.inFlight = new Semaphore(options.getMaxInFlight());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+        this.totalMixWeight = options.getMix().values().stream().mapToInt(Integer::intValue).sum();
+        if (totalMixWeight <= 0) {
+            throw new IllegalArgumentException("Workload mix weights must add up to more than 0");
+        }
+        System.out.println("Generating photos...");
+        this.generator = new StudentDataGenerator(objectMapper, options.getPhotoSizes(), options.getPhotoVariants(),
+                random);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        new StudentLoadTest(options).run();
+    }
+
+    void run() throws IOException, InterruptedException {
+        checkApplication();
+        if (options.getStudents() > 0) {
+            seed();
+        } else {
+            discover();
+        }
+
+        System.out.printf("Running %.1f req/s: %d s warmup, %d s measured, mix %s%n", options.getRps(),
+                options.getWarmup().toSeconds(), options.getDuration().toSeconds(), options.getMix());
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long reportMillis = options.getReportInterval().toMillis();
+        reporter.scheduleAtFixedRate(this::printInterval, reportMillis, reportMillis, TimeUnit.MILLISECONDS);
+
+        phaseStartNanos = System.nanoTime();
+        drive(options.getWarmup());
+        stats.values().forEach(OperationStats::reset);
+        failures.clear();
+        phase = "measure";
+        long measureStart = System.nanoTime();
+        phaseStartNanos = measureStart;
+        drive(options.getDuration());
+        boolean drained = inFlight.tryAcquire(options.getMaxInFlight(), options.getTimeout().toMillis(),
+                TimeUnit.MILLISECONDS);
+        long elapsedNanos = System.nanoTime() - measureStart;
+        reporter.shutdownNow();
+        if (!drained) {
+            System.out.println("Some requests were still outstanding after " + options.getTimeout());
+        }
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        for (OperationStats operationStats : stats.values()) {
+            operationStats.sampleInterval();
+            histograms.put(operationStats.getOperation(), operationStats.getTotal());
+        }
+        printReport(histograms, elapsedNanos);
+        writeReport(histograms, elapsedNanos);
+    }
+
+    // Fail fast with a hint when nothing is listening
+    private void checkApplication() throws IOException, InterruptedException {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(get("/api/students/paged?page=0&size=1&photos=url"),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Unexpected status " + response.statusCode() + " from "
+                        + options.getBaseUrl());
+            }
+        } catch (ConnectException e) {
+            System.err.println("Cannot connect to " + options.getBaseUrl() + ". Start the application first, e.g. "
+                    + "mvn spring-boot:run -Dspring-boot.run.profiles=loadtest");
+            System.exit(1);
+        }
+    }
+
+    private void seed() throws InterruptedException {
+        System.out.printf("Seeding %d students, photos: %s%n", options.getStudents(), generator.describePhotoSizes());
+        Semaphore permits = new Semaphore(options.getSeedConcurrency());
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.nanoTime();
+        for (int from = 0; from < options.getStudents(); from += options.getSeedBatchSize()) {
+            int count = Math.min(options.getSeedBatchSize(), options.getStudents() - from);
+            ArrayNode batch = objectMapper.createArrayNode();
+            for (int i = 0; i < count; i++) {
+                batch.add(generator.student(random));
+            }
+            permits.acquire();
+            httpClient.sendAsync(send("POST", "/api/students/bulk", batch), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> {
+                        try {
+                            if (error != null || response.statusCode() != 200) {
+                                failed.addAndGet(count);
+                                recordFailure("seed", response, error);
+                                return;
+                            }
+                            List<Long> created = new ArrayList<>(count);
+                            for (JsonNode result : readTree(response.body()).path("data").path("results")) {
+                                if ("CREATED".equals(result.path("status").asText())) {
+                                    created.add(result.path("id").asLong());
+                                }
+                            }
+                            failed.addAndGet(count - created.size());
+                            ids.addAll(created);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+        }
+        permits.acquire(options.getSeedConcurrency());
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Seeded %d students in %.1f s (%.0f/s), %d failed%n", ids.size(), seconds,
+                ids.size() / seconds, failed.get());
+        if (ids.size() == 0) {
+            throw new IllegalStateException("No students were seeded; failures: " + failures);
+        }
+    }
+
+    // Walk the cursor endpoint to collect the IDs already stored
+    private void discover() throws IOException, InterruptedException {
+        String cursor = null;
+        do {
+            String path = "/api/students/cursor?limit=" + DISCOVERY_PAGE_SIZE + "&photos=url"
+                    + (cursor != null ? "&after=" + encode(cursor) : "");
+            HttpResponse<byte[]> response = httpClient.send(get(path), HttpResponse.BodyHandlers.ofByteArray());
+            JsonNode data = readTree(response.body()).path("data");
+            for (JsonNode student : data.path("content")) {
+                ids.add(student.path("id").asLong());
+            }
+            cursor = data.path("hasNext").asBoolean() ? data.path("nextCursor").asText() : null;
+        } while (cursor != null);
+        System.out.printf("Found %d existing students%n", ids.size());
+    }
+
+    // Schedule requests at fixed intervals; a request that cannot be sent on time still counts from its slot
+    private void drive(Duration length) throws InterruptedException {
+        long periodNanos = Math.max(1, Math.round(1e9 / options.getRps()));
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+        for (long intendedNanos = start; intendedNanos < end; intendedNanos += periodNanos) {
+            long waitNanos = intendedNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            inFlight.acquire();
+            dispatch(nextOperation(), intendedNanos);
+        }
+    }
+
+    private Operation nextOperation() {
+        int pick = random.nextInt(totalMixWeight);
+        for (Map.Entry<Operation, Integer> entry : options.getMix().entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Workload mix weights changed");
+    }
+
+    private void dispatch(Operation requested, long intendedNanos) {
+        Long id = switch (requested) {
+            case GET, UPDATE -> ids.pick(random);
+            case DELETE -> createdIds.take(random);
+            default -> null;
+        };
+        // Without a suitable student, create one instead, which also refills the pools
+        Operation operation = id == null && (requested == Operation.GET || requested == Operation.UPDATE
+                || requested == Operation.DELETE) ? Operation.CREATE : requested;
+        if (operation == Operation.DELETE) {
+            ids.remove(id);
+        }
+
+        HttpRequest request = switch (operation) {
+            case PAGED -> get("/api/students/paged?page=" + random.nextInt(pageCount())
+                    + "&size=" + options.getPageSize() + "&photos=" + options.getPhotos());
+            case SEARCH -> get("/api/students/search/paged?name=" + encode(generator.searchTerm(random))
+                    + "&page=0&size=" + options.getPageSize() + "&photos=" + options.getPhotos());
+            case GET -> get("/api/students/" + id + "?photos=" + options.getPhotos());
+            case CREATE -> send("POST", "/api/students", generator.student(random));
+            case UPDATE -> send("PUT", "/api/students/" + id, generator.studentWithoutPhoto(random));
+            case DELETE -> HttpRequest.newBuilder(uri("/api/students/" + id))
+                    .timeout(options.getTimeout())
+                    .DELETE()
+                    .build();
+        };
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            try {
+                boolean success = error == null && response.statusCode() / 100 == 2;
+                stats.get(operation).record(System.nanoTime() - intendedNanos, success);
+                if (!success) {
+                    recordFailure(operation.name(), response, error);
+                } else if (operation == Operation.CREATE) {
+                    long createdId = readTree(response.body()).path("data").path("id").asLong();
+                    ids.add(createdId);
+                    createdIds.add(createdId);
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private int pageCount() {
+        return Math.max(1, ids.size() / options.getPageSize());
+    }
+
+    private void recordFailure(String operation, HttpResponse<?> response, Throwable error) {
+        String key = operation + " " + (error != null ? error.getClass().getSimpleName() : response.statusCode());
+        if (failures.size() < MAX_FAILURE_KEYS || failures.containsKey(key)) {
+            failures.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+    }
+
+    private void printInterval() {
+        StringBuilder line = new StringBuilder(String.format("[%4ds %-7s]", TimeUnit.NANOSECONDS.toSeconds(
+                System.nanoTime() - phaseStartNanos), phase));
+        double seconds = options.getReportInterval().toMillis() / 1000.0;
+        long totalCount = 0;
+        long totalErrors = 0;
+        for (OperationStats operationStats : stats.values()) {
+            Histogram interval = operationStats.sampleInterval();
+            long errors = operationStats.sampleIntervalErrors();
+            totalCount += interval.getTotalCount();
+            totalErrors += errors;
+            if (interval.getTotalCount() > 0) {
+                line.append(String.format(" %s %.0f/s p99 %.1fms |", operationStats.getOperation().name().toLowerCase(),
+                        interval.getTotalCount() / seconds, interval.getValueAtPercentile(99) / 1000.0));
+            }
+        }
+        line.append(String.format(" total %.0f/s, %d errors, %d in flight", totalCount / seconds, totalErrors,
+                options.getMaxInFlight() - inFlight.availablePermits()));
+        System.out.println(line);
+    }
+
+    private void printReport(Map<Operation, Histogram> histograms, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.println();
+        System.out.printf("Results over %.1f s at a target of %.1f req/s (latencies in ms, from scheduled send time)%n",
+                seconds, options.getRps());
+        System.out.printf("%-32s %9s %7s %9s %8s %8s %8s %8s %8s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50", "p90", "p99", "p99.9", "max");
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long errors = stats.get(entry.getKey()).getErrors();
+            all.add(histogram);
+            allErrors += errors;
+            if (histogram.getTotalCount() > 0) {
+                printRow(entry.getKey().getEndpoint(), histogram, errors, seconds);
+            }
+        }
+        printRow("All", all, allErrors, seconds);
+        if (!failures.isEmpty()) {
+            System.out.println("Failures: " + new TreeMap<>(failures));
+        }
+    }
+
+    private static void printRow(String label, Histogram histogram, long errors, double seconds) {
+        System.out.printf("%-32s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n", label, histogram.getTotalCount(),
+                errors, histogram.getTotalCount() / seconds, millis(histogram, 50), millis(histogram, 90),
+                millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    private void writeReport(Map<Operation, Histogram> histograms, long elapsedNanos) throws IOException {
+        double seconds = elapsedNanos / 1e9;
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("baseUrl", options.getBaseUrl());
+        report.put("targetRps", options.getRps());
+        report.put("durationSeconds", seconds);
+        report.put("students", ids.size());
+        report.put("photoSizes", generator.describePhotoSizes());
+        report.put("photos", options.getPhotos());
+        ObjectNode mix = report.putObject("mix");
+        options.getMix().forEach((operation, weight) -> mix.put(operation.name().toLowerCase(), weight));
+        ArrayNode operations = report.putArray("operations");
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            ObjectNode operation = operations.addObject();
+            operation.put("operation", entry.getKey().name().toLowerCase());
+            operation.put("endpoint", entry.getKey().getEndpoint());
+            operation.put("requests", histogram.getTotalCount());
+            operation.put("errors", stats.get(entry.getKey()).getErrors());
+            operation.put("throughput", histogram.getTotalCount() / seconds);
+            ObjectNode latency = operation.putObject("latencyMillis");
+            latency.put("mean", histogram.getMean() / 1000.0);
+            latency.put("p50", millis(histogram, 50));
+            latency.put("p90", millis(histogram, 90));
+            latency.put("p99", millis(histogram, 99));
+            latency.put("p99.9", millis(histogram, 99.9));
+            latency.put("max", histogram.getMaxValue() / 1000.0);
+        }
+        ObjectNode failureCounts = report.putObject("failures");
+        new TreeMap<>(failures).forEach((key, count) -> failureCounts.put(key, count.sum()));
+
+        if (options.getOutput().getParent() != null) {
+            Files.createDirectories(options.getOutput().getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(options.getOutput().toFile(), report);
+        System.out.println("Wrote " + options.getOutput().toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(options.getTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest send(String method, String path, JsonNode body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .timeout(options.getTimeout())
+                    .header("Accept", "application/json")
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(options.getBaseUrl() + path);
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.student_api.config;
+
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.web.CachedResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cache configuration
+ * Services use caches through Spring's CacheManager, so the Caffeine backend can be replaced
+ * by another provider without touching them.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String STUDENTS_CACHE = "students";
+    public static final String RESPONSES_CACHE = "responses";
+
+    // Rough fixed cost of a cache entry besides its payload
+    private static final int MIN_ENTRY_WEIGHT = 512;
+
+    @Bean
+    @ConditionalOnProperty(name = "student.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager cacheManager(@Value("${student.cache.students.max-weight:64MB}") DataSize studentsMaxWeight,
+                                     @Value("${student.cache.students.ttl:10m}") Duration studentsTtl,
+                                     @Value("${student.response-cache.enabled:false}") boolean responsesEnabled,
+                                     @Value("${student.response-cache.max-bytes:32MB}") DataSize responsesMaxBytes,
+                                     @Value("${student.response-cache.ttl:5m}") Duration responsesTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        // Only the caches registered below exist
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(STUDENTS_CACHE, Caffeine.newBuilder()
+                .maximumWeight(studentsMaxWeight.toBytes())
+                .weigher(CacheConfig::weighStudent)
+                .expireAfterWrite(studentsTtl)
+                .recordStats()
+                .build());
+        if (responsesEnabled) {
+            cacheManager.registerCustomCache(RESPONSES_CACHE, Caffeine.newBuilder()
+                    .maximumWeight(responsesMaxBytes.toBytes())
+                    .weigher(CacheConfig::weighResponse)
+                    .expireAfterWrite(responsesTtl)
+                    .recordStats()
+                    .build());
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "student.cache.enabled", havingValue = "false")
+    public CacheManager noOpCacheManager() {
+        return new NoOpCacheManager();
+    }
+
+    /**
+     * Approximate the heap cost of a cached student in bytes
+     * Dominated by the thumbnail bytes
+     */
+    private static int weighStudent(Object key, Object value) {
+        if (!(value instanceof StudentDTO studentDTO)) {
+            return MIN_ENTRY_WEIGHT;
+        }
+        byte[] thumbnail = studentDTO.getPhotoBase64();
+        return MIN_ENTRY_WEIGHT + (thumbnail != null ? thumbnail.length : 0);
+    }
+
+    /**
+     * Weigh a cached response by its serialized body
+     */
+    private static int weighResponse(Object key, Object value) {
+        int keyWeight = key instanceof String keyString ? keyString.length() : 0;
+        if (!(value instanceof CachedResponse cachedResponse)) {
+            return MIN_ENTRY_WEIGHT + keyWeight;
+        }
+        return MIN_ENTRY_WEIGHT + keyWeight + cachedResponse.getBody().length;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.student_api.config;
+
+import com.example.student_api.web.MeteredJsonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Metrics configuration
+ * HTTP requests, repository invocations, the Hikari pool, Hibernate statistics and caches are
+ * instrumented by Spring Boot; this adds what it cannot see. Image steps are timed in ImageUtil.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Replaces Spring Boot's JSON converter, which backs off when one is defined
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new MeteredJsonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.student_api.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Infrastructure for the reactive profile
+ * Serves requests from Netty on a small, fixed set of event loop threads. JPA stays in place for
+ * the schema, background jobs and the name index, so both transaction managers are declared here:
+ * JPA is primary for @Transactional, and reactive services use the R2DBC one through a
+ * TransactionalOperator. R2DBC and JPA must point at the same database.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources studentLoopResources(@Value("${student.reactive.event-loop-threads:0}") int threads) {
+        return LoopResources.create("student-http", threads > 0 ? threads : LoopResources.DEFAULT_IO_WORKER_COUNT,
+                true);
+    }
+
+    // Declared explicitly because Tomcat is also on the classpath and would otherwise be chosen
+    @Bean
+    public NettyReactiveWebServerFactory reactiveWebServerFactory(LoopResources studentLoopResources) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.addServerCustomizers(server -> server.runOn(studentLoopResources));
+        return factory;
+    }
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean
+    public ReactiveTransactionManager reactiveTransactionManager(ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator transactionalOperator(ReactiveTransactionManager reactiveTransactionManager) {
+        return TransactionalOperator.create(reactiveTransactionManager);
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/**")
+                .allowedOrigins("*")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+                .allowedHeaders("*")
+                .exposedHeaders(HttpHeaders.ETAG, "Preference-Applied");
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.student_api.config;
+
+import com.example.student_api.util.TracingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Slow request log configuration
+ * Wraps the DataSource so traced requests can attribute JDBC time, rows and bytes. Untraced
+ * requests get pooled connections unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "student.slow-requests.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowRequestConfig {
+
+    // Static so the post processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+                    return new TracingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.student_api.controller;
+
+import com.example.student_api.dto.ApiResponse;
+import com.example.student_api.dto.CacheStatsDTO;
+import com.example.student_api.dto.ConcurrencyStatsDTO;
+import com.example.student_api.dto.ImageProcessingStatsDTO;
+import com.example.student_api.dto.SlowRequestsDTO;
+import com.example.student_api.service.CacheStatsService;
+import com.example.student_api.service.ConcurrencyStatsService;
+import com.example.student_api.service.ImageProcessingEngine;
+import com.example.student_api.service.SlowRequestLog;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for operational endpoints
+ * Exposes runtime statistics; not meant for end users
+ */
+@RestController
+@RequestMapping("/admin")
+@Tag(name = "Admin", description = "Operational APIs")
+public class AdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+    private final CacheStatsService cacheStatsService;
+    private final ImageProcessingEngine imageProcessingEngine;
+    private final ConcurrencyStatsService concurrencyStatsService;
+    private final SlowRequestLog slowRequestLog;
+
+    @Autowired
+    public AdminController(CacheStatsService cacheStatsService, ImageProcessingEngine imageProcessingEngine,
+                           ConcurrencyStatsService concurrencyStatsService, SlowRequestLog slowRequestLog) {
+        this.cacheStatsService = cacheStatsService;
+        this.imageProcessingEngine = imageProcessingEngine;
+        this.concurrencyStatsService = concurrencyStatsService;
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    /**
+     * Get cache statistics
+     *
+     * @return Size, hit, miss and eviction counters per cache
+     */
+    @Operation(summary = "Get cache statistics", description = "Returns hit, miss and eviction counters per cache")
+    @GetMapping("/caches")
+    public ResponseEntity<ApiResponse<List<CacheStatsDTO>>> getCacheStats() {
+        logger.debug("REST request to get cache statistics");
+        List<CacheStatsDTO> stats = cacheStatsService.getCacheStats();
+        return ResponseEntity.ok(ApiResponse.success(stats, "Cache statistics retrieved successfully"));
+    }
+
+    /**
+     * Get image processing statistics
+     *
+     * @return Pool state and time spent per thumbnail stage
+     */
+    @Operation(summary = "Get image processing statistics",
+            description = "Returns image pool state and queue, hash, decode, scale and encode timings")
+    @GetMapping("/image-processing")
+    public ResponseEntity<ApiResponse<ImageProcessingStatsDTO>> getImageProcessingStats() {
+        logger.debug("REST request to get image processing statistics");
+        ImageProcessingStatsDTO stats = imageProcessingEngine.getStats();
+        return ResponseEntity.ok(ApiResponse.success(stats, "Image processing statistics retrieved successfully"));
+    }
+
+    /**
+     * Get request concurrency statistics
+     *
+     * @return Concurrency limit state and virtual thread pinning sites
+     */
+    @Operation(summary = "Get concurrency statistics",
+            description = "Returns the API concurrency limit state and where virtual threads were pinned")
+    @GetMapping("/concurrency")
+    public ResponseEntity<ApiResponse<ConcurrencyStatsDTO>> getConcurrencyStats() {
+        logger.debug("REST request to get concurrency statistics");
+        ConcurrencyStatsDTO stats = concurrencyStatsService.getConcurrencyStats();
+        return ResponseEntity.ok(ApiResponse.success(stats, "Concurrency statistics retrieved successfully"));
+    }
+
+    /**
+     * Get recent slow requests
+     *
+     * @return Slow request settings and the most recent slow requests with their stage breakdown
+     */
+    @Operation(summary = "Get slow requests",
+            description = "Returns recent student API requests over the slow request threshold, newest first")
+    @GetMapping("/slow-requests")
+    public ResponseEntity<ApiResponse<SlowRequestsDTO>> getSlowRequests() {
+        logger.debug("REST request to get slow requests");
+        SlowRequestsDTO slowRequests = slowRequestLog.getSlowRequests();
+        return ResponseEntity.ok(ApiResponse.success(slowRequests, "Slow requests retrieved successfully"));
+    }
+}
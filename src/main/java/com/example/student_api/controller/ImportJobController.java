@@ -0,0 +1,100 @@
+package com.example.student_api.controller;
+
+import com.example.student_api.dto.ApiResponse;
+import com.example.student_api.dto.ImportJobDTO;
+import com.example.student_api.service.ImportJob;
+import com.example.student_api.service.StudentImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * REST controller for background student imports
+ * Uploads return immediately with a job to poll for progress
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/import-jobs")
+@Tag(name = "Import", description = "Student import APIs")
+public class ImportJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobController.class);
+    private final StudentImportService studentImportService;
+
+    @Autowired
+    public ImportJobController(StudentImportService studentImportService) {
+        this.studentImportService = studentImportService;
+    }
+
+    /**
+     * Start an import
+     *
+     * @param file CSV or NDJSON file with name, birthDate, mobileNo and optionally photo or photoBase64 columns
+     * @param photos Optional zip archive with the photos named in the photo column
+     * @param format csv or ndjson; inferred from the file name if omitted
+     * @return Queued import job
+     * @throws IOException If the uploads cannot be stored
+     */
+    @Operation(summary = "Start a student import",
+               description = "Queues a CSV or NDJSON file, optionally with a zip of photos, for background import")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportJobDTO>> startImport(
+            @RequestPart("file") MultipartFile file,
+            @RequestPart(value = "photos", required = false) MultipartFile photos,
+            @RequestParam(required = false) String format) throws IOException {
+        logger.debug("REST request to import students from: {}", file.getOriginalFilename());
+        ImportJob job = studentImportService.startImport(file, photos, format);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/import-jobs/" + job.getId()))
+                .body(ApiResponse.success(ImportJobDTO.fromJob(job), "Import job queued"));
+    }
+
+    /**
+     * Get the progress of an import
+     *
+     * @param id Job ID
+     * @return Import job progress
+     */
+    @Operation(summary = "Get import progress", description = "Returns the status and row counts of an import job")
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ImportJobDTO>> getImportJob(@PathVariable String id) {
+        logger.debug("REST request to get import job: {}", id);
+        ImportJob job = studentImportService.getJob(id);
+        return ResponseEntity.ok(ApiResponse.success(ImportJobDTO.fromJob(job), "Import job retrieved successfully"));
+    }
+
+    /**
+     * Download the rows an import could not save
+     *
+     * @param id Job ID
+     * @return CSV with line, field and message per error
+     */
+    @Operation(summary = "Get import error report", description = "Returns the failed rows of a finished import as CSV")
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String id) {
+        logger.debug("REST request to get errors of import job: {}", id);
+        Resource report = new FileSystemResource(studentImportService.getErrorReport(id));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("import-" + id + "-errors.csv")
+                        .build()
+                        .toString())
+                .body(report);
+    }
+}
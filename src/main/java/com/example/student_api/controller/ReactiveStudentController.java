@@ -0,0 +1,273 @@
+package com.example.student_api.controller;
+
+import com.example.student_api.dto.ApiResponse;
+import com.example.student_api.dto.PageResponse;
+import com.example.student_api.dto.PhotoMode;
+import com.example.student_api.dto.PhotoSize;
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.service.ReactiveStudentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Non-blocking REST controller for Student operations, active with the reactive profile
+ * Serves the same JSON contract as StudentController. List and search endpoints also stream
+ * students one by one when the client accepts application/x-ndjson or text/event-stream.
+ * Cursor, suggestion, export, bulk and photo upload endpoints are only served by StudentController.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/students")
+@Tag(name = "Student", description = "Student management APIs")
+public class ReactiveStudentController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveStudentController.class);
+    private final ReactiveStudentService studentService;
+    private final Duration photoCacheMaxAge;
+
+    @Autowired
+    public ReactiveStudentController(ReactiveStudentService studentService,
+                                     @Value("${student.photo.cache-max-age:365d}") Duration photoCacheMaxAge) {
+        this.studentService = studentService;
+        this.photoCacheMaxAge = photoCacheMaxAge;
+    }
+
+    /**
+     * Get all students
+     *
+     * @param photos Photo representation: inline (Base64) or url
+     * @return List of all students
+     */
+    @Operation(summary = "Get all students", description = "Returns a list of all students")
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ApiResponse<List<StudentDTO>>>> getAllStudents(
+            @RequestParam(defaultValue = "inline") String photos) {
+        logger.debug("REST request to get all students");
+        return studentService.getAllStudents(PhotoMode.fromParameter(photos))
+                .collectList()
+                .map(students -> ResponseEntity.ok(ApiResponse.success(students, "Students retrieved successfully")));
+    }
+
+    /**
+     * Stream all students
+     *
+     * @param photos Photo representation: inline (Base64) or url
+     * @return Students, written as they are read
+     */
+    @Operation(summary = "Stream all students", description = "Streams all students as NDJSON or server-sent events")
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<StudentDTO> streamAllStudents(@RequestParam(defaultValue = "inline") String photos) {
+        logger.debug("REST request to stream all students");
+        return studentService.getAllStudents(PhotoMode.fromParameter(photos));
+    }
+
+    /**
+     * Get paginated students
+     *
+     * @param page Page number (0-based)
+     * @param size Page size
+     * @param photos Photo representation: inline (Base64) or url
+     * @return Paginated students
+     */
+    @Operation(summary = "Get all students with pagination", description = "Returns a paginated list of students")
+    @GetMapping("/paged")
+    public Mono<ResponseEntity<ApiResponse<PageResponse<StudentDTO>>>> getAllStudentsPaginated(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "inline") String photos) {
+
+        logger.debug("REST request to get paginated students: page={}, size={}", page, size);
+        return studentService.getAllStudentsPaginated(PageRequest.of(page, size, Sort.by("id")),
+                        PhotoMode.fromParameter(photos))
+                .map(pageResponse -> ResponseEntity.ok(
+                        ApiResponse.success(pageResponse, "Students retrieved successfully")));
+    }
+
+    /**
+     * Get student by ID
+     *
+     * @param id Student ID
+     * @param photos Photo representation: inline (Base64) or url
+     * @return Student with the given ID
+     */
+    @Operation(summary = "Get student by ID", description = "Returns a student by ID")
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<StudentDTO>>> getStudentById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "inline") String photos) {
+        logger.debug("REST request to get student by ID: {}", id);
+        return studentService.getStudentById(id, PhotoMode.fromParameter(photos))
+                .map(student -> ResponseEntity.ok(ApiResponse.success(student, "Student retrieved successfully")));
+    }
+
+    /**
+     * Get the raw bytes of a student's photo
+     * Serves the photoUrl links of photos=url responses with the same ETag and caching as StudentController.
+     *
+     * @param id Student ID
+     * @param size Photo variant: thumb or full
+     * @param v Content hash the client expects, as found in photoUrl
+     * @param exchange Current exchange, used for conditional request handling
+     * @return Photo bytes, or 304 Not Modified
+     */
+    @Operation(summary = "Get student photo", description = "Returns the student's photo as an image")
+    @GetMapping("/{id}/photo")
+    public Mono<ResponseEntity<byte[]>> getStudentPhoto(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "thumb") String size,
+            @RequestParam(required = false) String v,
+            ServerWebExchange exchange) {
+
+        logger.debug("REST request to get photo for student ID: {}, size={}", id, size);
+        PhotoSize photoSize = PhotoSize.fromParameter(size);
+        return studentService.getContentHash(id).flatMap(contentHash -> {
+            String etag = "\"" + contentHash + "-" + photoSize.name().toLowerCase() + "\"";
+            CacheControl cacheControl = contentHash.equals(v)
+                    ? CacheControl.maxAge(photoCacheMaxAge).cachePublic().immutable()
+                    : CacheControl.noCache();
+
+            if (exchange.checkNotModified(etag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(cacheControl)
+                        .<byte[]>build());
+            }
+
+            return studentService.getPhoto(id, photoSize)
+                    .map(photo -> ResponseEntity.ok()
+                            .contentType(MediaType.parseMediaType(photo.getContentType()))
+                            .eTag(etag)
+                            .cacheControl(cacheControl)
+                            .body(photo.getData()));
+        });
+    }
+
+    /**
+     * Search students by name
+     *
+     * @param name Name to search for
+     * @param photos Photo representation: inline (Base64) or url
+     * @return List of matching students
+     */
+    @Operation(summary = "Search students by name", description = "Returns a list of students matching the name")
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ApiResponse<List<StudentDTO>>>> getStudentsByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "inline") String photos) {
+        logger.debug("REST request to search students by name: {}", name);
+        return studentService.getStudentsByName(name, PhotoMode.fromParameter(photos))
+                .collectList()
+                .map(students -> ResponseEntity.ok(ApiResponse.success(students, "Students retrieved successfully")));
+    }
+
+    /**
+     * Stream students by name
+     *
+     * @param name Name to search for
+     * @param photos Photo representation: inline (Base64) or url
+     * @return Matching students, best matches first, written as they are read
+     */
+    @Operation(summary = "Stream students by name",
+               description = "Streams students matching the name as NDJSON or server-sent events")
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<StudentDTO> streamStudentsByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "inline") String photos) {
+        logger.debug("REST request to stream students by name: {}", name);
+        return studentService.getStudentsByName(name, PhotoMode.fromParameter(photos));
+    }
+
+    /**
+     * Search students by name with pagination
+     *
+     * @param name Name to search for
+     * @param page Page number (0-based)
+     * @param size Page size
+     * @param photos Photo representation: inline (Base64) or url
+     * @return Paginated matching students
+     */
+    @Operation(summary = "Search students by name with pagination",
+               description = "Returns a paginated list of students matching the name")
+    @GetMapping("/search/paged")
+    public Mono<ResponseEntity<ApiResponse<PageResponse<StudentDTO>>>> getStudentsByNamePaginated(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "inline") String photos) {
+
+        logger.debug("REST request to search paginated students by name: {}, page={}, size={}",
+                name, page, size);
+        return studentService.getStudentsByNamePaginated(name, PageRequest.of(page, size, Sort.by("id")),
+                        PhotoMode.fromParameter(photos))
+                .map(pageResponse -> ResponseEntity.ok(
+                        ApiResponse.success(pageResponse, "Students retrieved successfully")));
+    }
+
+    /**
+     * Create a new student
+     *
+     * @param studentDTO Student data
+     * @return Created student
+     */
+    @Operation(summary = "Create a new student", description = "Creates a new student and returns it")
+    @PostMapping
+    public Mono<ResponseEntity<ApiResponse<StudentDTO>>> createStudent(@RequestBody StudentDTO studentDTO) {
+        logger.debug("REST request to create student: {}", studentDTO.getName());
+        return studentService.saveStudent(studentDTO)
+                .map(createdStudent -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(ApiResponse.success(createdStudent, "Student created successfully")));
+    }
+
+    /**
+     * Update an existing student
+     *
+     * @param id Student ID to update
+     * @param studentDTO Updated student data
+     * @return Updated student
+     */
+    @Operation(summary = "Update an existing student", description = "Updates a student and returns it")
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<StudentDTO>>> updateStudent(
+            @PathVariable Long id,
+            @RequestBody StudentDTO studentDTO) {
+
+        logger.debug("REST request to update student with ID: {}", id);
+        return studentService.updateStudent(id, studentDTO)
+                .map(updatedStudent -> ResponseEntity.ok(
+                        ApiResponse.success(updatedStudent, "Student updated successfully")));
+    }
+
+    /**
+     * Delete a student
+     *
+     * @param id Student ID to delete
+     * @return No content response
+     */
+    @Operation(summary = "Delete a student", description = "Deletes a student by ID")
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<Void>>> deleteStudent(@PathVariable Long id) {
+        logger.debug("REST request to delete student with ID: {}", id);
+        return studentService.deleteStudent(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(
+                        ApiResponse.<Void>success(null, "Student deleted successfully"))));
+    }
+}
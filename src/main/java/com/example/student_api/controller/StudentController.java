@@ -1,51 +1,100 @@
 package com.example.student_api.controller;
 
 import com.example.student_api.dto.ApiResponse;
+import com.example.student_api.dto.BulkResponse;
+import com.example.student_api.dto.CursorResponse;
+import com.example.student_api.dto.ExportFormat;
 import com.example.student_api.dto.PageResponse;
+import com.example.student_api.dto.PhotoContent;
+import com.example.student_api.dto.PhotoMode;
+import com.example.student_api.dto.PhotoSize;
 import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.dto.StudentField;
+import com.example.student_api.dto.StudentPatchDTO;
+import com.example.student_api.dto.SuggestionDTO;
+import com.example.student_api.exception.PreconditionFailedException;
+import com.example.student_api.service.StudentBulkService;
+import com.example.student_api.service.StudentExportService;
+import com.example.student_api.service.StudentPhotoService;
 import com.example.student_api.service.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller for Student operations
  * Provides endpoints for CRUD operations on students
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/students")
 @Tag(name = "Student", description = "Student management APIs")
 public class StudentController {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentController.class);
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final String SMILE_VALUE = "application/x-jackson-smile";
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RETURN_MINIMAL = "return=minimal";
     private final StudentService studentService;
+    private final StudentPhotoService studentPhotoService;
+    private final StudentExportService studentExportService;
+    private final StudentBulkService studentBulkService;
+    private final Duration photoCacheMaxAge;
 
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService,
+                             StudentPhotoService studentPhotoService,
+                             StudentExportService studentExportService,
+                             StudentBulkService studentBulkService,
+                             @Value("${student.photo.cache-max-age:365d}") Duration photoCacheMaxAge) {
         this.studentService = studentService;
+        this.studentPhotoService = studentPhotoService;
+        this.studentExportService = studentExportService;
+        this.studentBulkService = studentBulkService;
+        this.photoCacheMaxAge = photoCacheMaxAge;
     }
 
     /**
      * Get all students
      *
+     * @param photos Photo representation: inline (Base64) or url
+     * @param fields Comma-separated fields to include, e.g. id,name; all fields if omitted
      * @return List of all students
      */
     @Operation(summary = "Get all students", description = "Returns a list of all students")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<StudentDTO>>> getAllStudents() {
+    public ResponseEntity<ApiResponse<List<StudentDTO>>> getAllStudents(
+            @RequestParam(defaultValue = "inline") String photos,
+            @RequestParam(required = false) String fields) {
         logger.debug("REST request to get all students");
-        List<StudentDTO> students = studentService.getAllStudents();
+        List<StudentDTO> students = studentService.getAllStudents(PhotoMode.fromParameter(photos),
+                StudentField.fromParameter(fields));
         return ResponseEntity.ok(ApiResponse.success(students, "Students retrieved successfully"));
     }
 
@@ -54,47 +103,177 @@ public class StudentController {
      *
      * @param page Page number (0-based)
      * @param size Page size
+     * @param photos Photo representation: inline (Base64) or url
+     * @param fields Comma-separated fields to include, e.g. id,name; all fields if omitted
      * @return Paginated students
      */
     @Operation(summary = "Get all students with pagination", description = "Returns a paginated list of students")
     @GetMapping("/paged")
     public ResponseEntity<ApiResponse<PageResponse<StudentDTO>>> getAllStudentsPaginated(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "5") int size) {
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "inline") String photos,
+            @RequestParam(required = false) String fields) {
 
         logger.debug("REST request to get paginated students: page={}, size={}", page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
-        Page<StudentDTO> studentPage = studentService.getAllStudentsPaginated(pageable);
+        Page<StudentDTO> studentPage = studentService.getAllStudentsPaginated(pageable,
+                PhotoMode.fromParameter(photos), StudentField.fromParameter(fields));
 
         PageResponse<StudentDTO> pageResponse = PageResponse.from(studentPage);
         return ResponseEntity.ok(ApiResponse.success(pageResponse, "Students retrieved successfully"));
     }
 
+    /**
+     * Export all students as a file
+     * Rows are streamed from the database as they are written, so the response size is not limited by memory
+     *
+     * @param format Export format: ndjson or csv
+     * @param includePhotos Whether to include thumbnails as Base64
+     * @return Streamed export
+     */
+    @Operation(summary = "Export all students", description = "Streams all students as NDJSON or CSV")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean includePhotos) {
+        logger.debug("REST request to export students: format={}, includePhotos={}", format, includePhotos);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        StreamingResponseBody body = outputStream ->
+                studentExportService.exportStudents(exportFormat, includePhotos, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("students." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * Get students using cursor (keyset) pagination
+     *
+     * @param after Opaque cursor from the previous response; omit for the first slice
+     * @param limit Maximum number of students to return (1-100)
+     * @param includeTotal Whether to include a cached approximate total
+     * @param photos Photo representation: inline (Base64) or url
+     * @return Slice of students with the next cursor
+     */
+    @Operation(summary = "Get students with cursor pagination",
+               description = "Returns students after the given cursor without counting all rows")
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorResponse<StudentDTO>>> getStudentsAfterCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(defaultValue = "inline") String photos) {
+
+        logger.debug("REST request to get students after cursor: {}, limit={}", after, limit);
+        CursorResponse<StudentDTO> response = studentService.getStudentsAfterCursor(after, limit, includeTotal,
+                PhotoMode.fromParameter(photos));
+        return ResponseEntity.ok(ApiResponse.success(response, "Students retrieved successfully"));
+    }
+
     /**
      * Get student by ID
      *
+     * Uses the student version as a weak ETag, so revalidation returns 304 without loading the student or its photo.
+     * The ETag is weak because it is shared by the JSON, CBOR and Smile encodings, which also lets the
+     * response be compressed; responses vary by Accept.
+     *
      * @param id Student ID
-     * @return Student with the given ID
+     * @param photos Photo representation: inline (Base64) or url
+     * @param ifNoneMatch ETags the client already has, if any
+     * @return Student with the given ID, or 304 Not Modified
      */
     @Operation(summary = "Get student by ID", description = "Returns a student by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<StudentDTO>> getStudentById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<StudentDTO>> getStudentById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "inline") String photos,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.debug("REST request to get student by ID: {}", id);
-        StudentDTO student = studentService.getStudentById(id);
-        return ResponseEntity.ok(ApiResponse.success(student, "Student retrieved successfully"));
+        PhotoMode photoMode = PhotoMode.fromParameter(photos);
+        if (ifNoneMatch != null && !ifNoneMatch.isBlank()) {
+            long version = studentService.getStudentVersion(id);
+            Set<Long> versions = versionsFromETags(ifNoneMatch);
+            if (versions == null || versions.contains(version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(studentETag(version))
+                        .cacheControl(CacheControl.noCache())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+        }
+
+        // The ETag comes from the student as loaded, in case it changed after the version was checked
+        StudentDTO student = studentService.getStudentById(id, photoMode);
+        return ResponseEntity.ok()
+                .eTag(studentETag(student.getVersion()))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(ApiResponse.success(student, "Student retrieved successfully"));
+    }
+
+    /**
+     * Get the raw bytes of a student's photo
+     * Uses the photo content hash as a strong ETag, so revalidation returns 304 without loading the image.
+     * Versioned URLs (v matching the current hash) are cacheable indefinitely.
+     *
+     * @param id Student ID
+     * @param size Photo variant: thumb or full
+     * @param v Content hash the client expects, as found in photoUrl
+     * @param webRequest Current request, used for conditional request handling
+     * @return Photo bytes, or 304 Not Modified
+     */
+    @Operation(summary = "Get student photo", description = "Returns the student's photo as an image")
+    @GetMapping("/{id}/photo")
+    public ResponseEntity<byte[]> getStudentPhoto(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "thumb") String size,
+            @RequestParam(required = false) String v,
+            WebRequest webRequest) {
+
+        logger.debug("REST request to get photo for student ID: {}, size={}", id, size);
+        PhotoSize photoSize = PhotoSize.fromParameter(size);
+        String contentHash = studentPhotoService.getContentHash(id);
+        String etag = "\"" + contentHash + "-" + photoSize.name().toLowerCase() + "\"";
+        CacheControl cacheControl = contentHash.equals(v)
+                ? CacheControl.maxAge(photoCacheMaxAge).cachePublic().immutable()
+                : CacheControl.noCache();
+
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        PhotoContent photo = studentPhotoService.getPhoto(id, photoSize);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(photo.getContentType()))
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(photo.getData());
     }
 
     /**
      * Search students by name
      *
      * @param name Name to search for
+     * @param photos Photo representation: inline (Base64) or url
+     * @param fields Comma-separated fields to include, e.g. id,name; all fields if omitted
      * @return List of matching students
      */
     @Operation(summary = "Search students by name", description = "Returns a list of students matching the name")
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<StudentDTO>>> getStudentsByName(@RequestParam String name) {
+    public ResponseEntity<ApiResponse<List<StudentDTO>>> getStudentsByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "inline") String photos,
+            @RequestParam(required = false) String fields) {
         logger.debug("REST request to search students by name: {}", name);
-        List<StudentDTO> students = studentService.getStudentsByName(name);
+        List<StudentDTO> students = studentService.getStudentsByName(name, PhotoMode.fromParameter(photos),
+                StudentField.fromParameter(fields));
         return ResponseEntity.ok(ApiResponse.success(students, "Students retrieved successfully"));
     }
 
@@ -104,6 +283,8 @@ public class StudentController {
      * @param name Name to search for
      * @param page Page number (0-based)
      * @param size Page size
+     * @param photos Photo representation: inline (Base64) or url
+     * @param fields Comma-separated fields to include, e.g. id,name; all fields if omitted
      * @return Paginated matching students
      */
     @Operation(summary = "Search students by name with pagination",
@@ -112,17 +293,62 @@ public class StudentController {
     public ResponseEntity<ApiResponse<PageResponse<StudentDTO>>> getStudentsByNamePaginated(
             @RequestParam String name,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "5") int size) {
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "inline") String photos,
+            @RequestParam(required = false) String fields) {
 
         logger.debug("REST request to search paginated students by name: {}, page={}, size={}",
                 name, page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
-        Page<StudentDTO> studentPage = studentService.getStudentsByNamePaginated(name, pageable);
+        Page<StudentDTO> studentPage = studentService.getStudentsByNamePaginated(name, pageable,
+                PhotoMode.fromParameter(photos), StudentField.fromParameter(fields));
 
         PageResponse<StudentDTO> pageResponse = PageResponse.from(studentPage);
         return ResponseEntity.ok(ApiResponse.success(pageResponse, "Students retrieved successfully"));
     }
 
+    /**
+     * Suggest student names for typeahead
+     * Answered from memory, cheap enough to call on every keystroke
+     *
+     * @param q Typed text
+     * @param limit Maximum number of suggestions (1-20)
+     * @return ID and name pairs of matching students
+     */
+    @Operation(summary = "Suggest student names", description = "Returns students whose name starts with the text")
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<SuggestionDTO>>> suggestStudents(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SuggestionDTO> suggestions = studentService.suggestStudents(q, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions, "Suggestions retrieved successfully"));
+    }
+
+    /**
+     * Search students by name using cursor (keyset) pagination
+     *
+     * @param name Name to search for
+     * @param after Opaque cursor from the previous response; omit for the first slice
+     * @param limit Maximum number of students to return (1-100)
+     * @param photos Photo representation: inline (Base64) or url
+     * @return Slice of matching students with the next cursor
+     */
+    @Operation(summary = "Search students by name with cursor pagination",
+               description = "Returns students matching the name after the given cursor")
+    @GetMapping("/search/cursor")
+    public ResponseEntity<ApiResponse<CursorResponse<StudentDTO>>> getStudentsByNameAfterCursor(
+            @RequestParam String name,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "inline") String photos) {
+
+        logger.debug("REST request to search students by name after cursor: {}, cursor={}, limit={}",
+                name, after, limit);
+        CursorResponse<StudentDTO> response = studentService.getStudentsByNameAfterCursor(name, after, limit,
+                PhotoMode.fromParameter(photos));
+        return ResponseEntity.ok(ApiResponse.success(response, "Students retrieved successfully"));
+    }
+
     /**
      * Create a new student
      *
@@ -139,22 +365,147 @@ public class StudentController {
                 .body(ApiResponse.success(createdStudent, "Student created successfully"));
     }
 
+    /**
+     * Create a new student with a multipart photo upload
+     *
+     * @param studentDTO Student data, sent as a JSON part
+     * @param photo Photo file part
+     * @return Created student with photo linked by URL
+     * @throws IOException If the uploaded photo cannot be read
+     */
+    @Operation(summary = "Create a new student with a photo upload",
+               description = "Creates a new student from a JSON part and an image file part")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<StudentDTO>> createStudentWithPhoto(
+            @RequestPart("student") StudentDTO studentDTO,
+            @RequestPart(value = "photo", required = false) MultipartFile photo) throws IOException {
+
+        logger.debug("REST request to create student with photo upload: {}", studentDTO.getName());
+        StudentDTO createdStudent = studentService.saveStudent(studentDTO, photo);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(createdStudent, "Student created successfully"));
+    }
+
+    /**
+     * Create students in bulk
+     * The whole request is validated first; valid requests are written in batched chunks
+     *
+     * @param students Students to create
+     * @return Result per student, in request order
+     */
+    @Operation(summary = "Create students in bulk", description = "Creates many students and returns a result per item")
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkResponse>> createStudents(@RequestBody List<StudentDTO> students) {
+        logger.debug("REST request to bulk create {} students", students.size());
+        BulkResponse response = studentBulkService.createStudents(students);
+        return ResponseEntity.ok(ApiResponse.success(response, "Bulk create processed"));
+    }
+
+    /**
+     * Update students in bulk
+     *
+     * @param students Students to update, identified by ID
+     * @return Result per student, in request order
+     */
+    @Operation(summary = "Update students in bulk", description = "Updates many students and returns a result per item")
+    @PutMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkResponse>> updateStudents(@RequestBody List<StudentDTO> students) {
+        logger.debug("REST request to bulk update {} students", students.size());
+        BulkResponse response = studentBulkService.updateStudents(students);
+        return ResponseEntity.ok(ApiResponse.success(response, "Bulk update processed"));
+    }
+
+    /**
+     * Delete students in bulk
+     *
+     * @param ids Student IDs to delete
+     * @return Result per ID, in request order
+     */
+    @Operation(summary = "Delete students in bulk", description = "Deletes many students and returns a result per item")
+    @DeleteMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkResponse>> deleteStudents(@RequestBody List<Long> ids) {
+        logger.debug("REST request to bulk delete {} students", ids.size());
+        BulkResponse response = studentBulkService.deleteStudents(ids);
+        return ResponseEntity.ok(ApiResponse.success(response, "Bulk delete processed"));
+    }
+
     /**
      * Update an existing student
      *
+     * With If-Match, the update is rejected with 412 unless the student is still at that ETag
+     *
      * @param id Student ID to update
      * @param studentDTO Updated student data
-     * @return Updated student
+     * @param ifMatch ETags the client accepts, or * or absent for an unconditional update
+     * @return Updated student with its new ETag
      */
     @Operation(summary = "Update an existing student", description = "Updates a student and returns it")
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<StudentDTO>> updateStudent(
             @PathVariable Long id,
-            @RequestBody StudentDTO studentDTO) {
+            @RequestBody StudentDTO studentDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         logger.debug("REST request to update student with ID: {}", id);
-        StudentDTO updatedStudent = studentService.updateStudent(id, studentDTO);
-        return ResponseEntity.ok(ApiResponse.success(updatedStudent, "Student updated successfully"));
+        StudentDTO updatedStudent = studentService.updateStudent(id, studentDTO, ifMatchVersions(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(studentETag(updatedStudent.getVersion()))
+                .body(ApiResponse.success(updatedStudent, "Student updated successfully"));
+    }
+
+    /**
+     * Partially update a student with a JSON Merge Patch
+     * Only the members present in the patch are changed; a null photoBase64 removes the photo.
+     * The patch may also be sent as CBOR or Smile, with the same members.
+     * With If-Match, the patch is rejected with 412 unless the student is still at that ETag.
+     *
+     * @param id Student ID to patch
+     * @param patch Members to change
+     * @param ifMatch ETags the client accepts, or * or absent for an unconditional patch
+     * @param prefer return=minimal to get 204 with only the new ETag
+     * @return Patched student with photo linked by URL, or no content
+     */
+    @Operation(summary = "Partially update a student", description = "Applies a JSON Merge Patch to a student")
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, SMILE_VALUE})
+    public ResponseEntity<ApiResponse<StudentDTO>> patchStudent(
+            @PathVariable Long id,
+            @RequestBody StudentPatchDTO patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+
+        logger.debug("REST request to patch student with ID: {}", id);
+        StudentDTO patchedStudent = studentService.patchStudent(id, patch, ifMatchVersions(ifMatch));
+        String etag = studentETag(patchedStudent.getVersion());
+        if (prefersMinimal(prefer)) {
+            return ResponseEntity.noContent()
+                    .eTag(etag)
+                    .header(PREFERENCE_APPLIED, RETURN_MINIMAL)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(ApiResponse.success(patchedStudent, "Student updated successfully"));
+    }
+
+    /**
+     * Replace a student's photo with a multipart upload
+     *
+     * @param id Student ID
+     * @param photo Photo file part
+     * @return Updated student with photo linked by URL
+     * @throws IOException If the uploaded photo cannot be read
+     */
+    @Operation(summary = "Upload a student photo", description = "Replaces the student's photo with an image file")
+    @PutMapping(value = "/{id}/photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<StudentDTO>> updateStudentPhoto(
+            @PathVariable Long id,
+            @RequestPart("photo") MultipartFile photo) throws IOException {
+
+        logger.debug("REST request to update photo for student with ID: {}", id);
+        StudentDTO updatedStudent = studentService.updateStudentPhoto(id, photo);
+        return ResponseEntity.ok(ApiResponse.success(updatedStudent, "Student photo updated successfully"));
     }
 
     /**
@@ -170,4 +521,64 @@ public class StudentController {
         studentService.deleteStudent(id);
         return ResponseEntity.ok(ApiResponse.success(null, "Student deleted successfully"));
     }
+
+    private static String studentETag(long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    private static boolean prefersMinimal(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (preference.trim().equalsIgnoreCase(RETURN_MINIMAL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse the student versions from an If-Match header
+     *
+     * @param ifMatch Header value
+     * @return Versions, or null if the header is absent or *
+     * @throws PreconditionFailedException if no ETag is a student version, so none can ever match
+     */
+    private static Set<Long> ifMatchVersions(String ifMatch) {
+        Set<Long> versions = versionsFromETags(ifMatch);
+        if (versions != null && versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match does not match the current student");
+        }
+        return versions;
+    }
+
+    /**
+     * Parse the student versions from an If-Match or If-None-Match list, such as "3", W/"4"
+     * Compared weakly on purpose: the ETag identifies the student version rather than the bytes of one
+     * encoding, so W/"3" and "3" both match version 3. ETags that are not student versions are skipped.
+     *
+     * @param header Header value
+     * @return Versions, or null if the header is absent or *
+     */
+    private static Set<Long> versionsFromETags(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String tag : header.split(",")) {
+            String etag = tag.trim();
+            if (etag.startsWith("W/")) {
+                etag = etag.substring(2);
+            }
+            if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(etag.substring(1, etag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    logger.debug("Ignoring ETag that is not a student version: {}", tag);
+                }
+            }
+        }
+        return versions;
+    }
 }
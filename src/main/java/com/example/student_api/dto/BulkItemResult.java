@@ -0,0 +1,67 @@
+package com.example.student_api.dto;
+
+/**
+ * Outcome of one item in a bulk request
+ * Items are reported in request order; index is the item's position in the request
+ */
+public class BulkItemResult {
+
+    /**
+     * What happened to the item
+     */
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private String message;
+
+    public BulkItemResult() {
+    }
+
+    public BulkItemResult(int index, Long id, Status status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters and setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.student_api.dto;
+
+import java.util.List;
+
+/**
+ * DTO for bulk create, update and delete responses
+ * Carries one result per requested item along with summary counts
+ */
+public class BulkResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> results;
+
+    public BulkResponse() {
+    }
+
+    public BulkResponse(List<BulkItemResult> results) {
+        this.results = results;
+        this.total = results.size();
+        this.succeeded = (int) results.stream()
+                .filter(result -> result.getStatus() != BulkItemResult.Status.NOT_FOUND
+                        && result.getStatus() != BulkItemResult.Status.FAILED)
+                .count();
+        this.failed = total - succeeded;
+    }
+
+    // Getters and setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkItemResult> results) {
+        this.results = results;
+    }
+}
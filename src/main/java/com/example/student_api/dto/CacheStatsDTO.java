@@ -0,0 +1,106 @@
+package com.example.student_api.dto;
+
+/**
+ * DTO for cache statistics
+ * Counters are cumulative since the application started
+ */
+public class CacheStatsDTO {
+    private String name;
+    private long size;
+    private Long weightedSize;
+    private Long maximumWeight;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long evictionWeight;
+
+    public CacheStatsDTO() {
+    }
+
+    public CacheStatsDTO(String name, long size, Long weightedSize, Long maximumWeight, long hitCount,
+                         long missCount, double hitRate, long evictionCount, long evictionWeight) {
+        this.name = name;
+        this.size = size;
+        this.weightedSize = weightedSize;
+        this.maximumWeight = maximumWeight;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+    }
+
+    // Getters and setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public Long getWeightedSize() {
+        return weightedSize;
+    }
+
+    public void setWeightedSize(Long weightedSize) {
+        this.weightedSize = weightedSize;
+    }
+
+    public Long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public void setMaximumWeight(Long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public void setHitRate(double hitRate) {
+        this.hitRate = hitRate;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    public long getEvictionWeight() {
+        return evictionWeight;
+    }
+
+    public void setEvictionWeight(long evictionWeight) {
+        this.evictionWeight = evictionWeight;
+    }
+}
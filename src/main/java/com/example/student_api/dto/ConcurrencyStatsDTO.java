@@ -0,0 +1,141 @@
+package com.example.student_api.dto;
+
+import java.util.List;
+
+/**
+ * DTO for request concurrency statistics
+ * Limit and pinning fields are null when the concurrency limit or pinning monitor is disabled
+ */
+public class ConcurrencyStatsDTO {
+    private boolean virtualThreads;
+    private Integer maxConcurrent;
+    private Integer inFlight;
+    private Integer waiting;
+    private Long rejected;
+    private Long droppedPinnedEvents;
+    private List<PinnedSite> pinnedSites;
+
+    public ConcurrencyStatsDTO() {
+    }
+
+    public ConcurrencyStatsDTO(boolean virtualThreads, Integer maxConcurrent, Integer inFlight, Integer waiting,
+                               Long rejected, Long droppedPinnedEvents, List<PinnedSite> pinnedSites) {
+        this.virtualThreads = virtualThreads;
+        this.maxConcurrent = maxConcurrent;
+        this.inFlight = inFlight;
+        this.waiting = waiting;
+        this.rejected = rejected;
+        this.droppedPinnedEvents = droppedPinnedEvents;
+        this.pinnedSites = pinnedSites;
+    }
+
+    /**
+     * Stack trace where virtual threads were pinned to their carrier
+     */
+    public static class PinnedSite {
+        private String stackTrace;
+        private long count;
+        private long totalMillis;
+        private long maxMillis;
+
+        public PinnedSite() {
+        }
+
+        public PinnedSite(String stackTrace, long count, long totalMillis, long maxMillis) {
+            this.stackTrace = stackTrace;
+            this.count = count;
+            this.totalMillis = totalMillis;
+            this.maxMillis = maxMillis;
+        }
+
+        // Getters and setters
+        public String getStackTrace() {
+            return stackTrace;
+        }
+
+        public void setStackTrace(String stackTrace) {
+            this.stackTrace = stackTrace;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public void setTotalMillis(long totalMillis) {
+            this.totalMillis = totalMillis;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+
+        public void setMaxMillis(long maxMillis) {
+            this.maxMillis = maxMillis;
+        }
+    }
+
+    // Getters and setters
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public Integer getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(Integer maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public Integer getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(Integer inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public Integer getWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(Integer waiting) {
+        this.waiting = waiting;
+    }
+
+    public Long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Long rejected) {
+        this.rejected = rejected;
+    }
+
+    public Long getDroppedPinnedEvents() {
+        return droppedPinnedEvents;
+    }
+
+    public void setDroppedPinnedEvents(Long droppedPinnedEvents) {
+        this.droppedPinnedEvents = droppedPinnedEvents;
+    }
+
+    public List<PinnedSite> getPinnedSites() {
+        return pinnedSites;
+    }
+
+    public void setPinnedSites(List<PinnedSite> pinnedSites) {
+        this.pinnedSites = pinnedSites;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.student_api.dto;
+
+import java.util.List;
+
+/**
+ * DTO for cursor (keyset) paginated responses
+ * Carries an opaque cursor for the next slice instead of page numbers and exact totals
+ *
+ * @param <T> Type of data being returned
+ */
+public class CursorResponse<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private int limit;
+    private Long approximateTotal;
+
+    public CursorResponse() {
+    }
+
+    public CursorResponse(List<T> content, String nextCursor, boolean hasNext, int limit, Long approximateTotal) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+        this.limit = limit;
+        this.approximateTotal = approximateTotal;
+    }
+
+    // Getters and setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public Long getApproximateTotal() {
+        return approximateTotal;
+    }
+
+    public void setApproximateTotal(Long approximateTotal) {
+        this.approximateTotal = approximateTotal;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.student_api.dto;
+
+import com.example.student_api.exception.ValidationException;
+
+/**
+ * File formats for exporting and importing students
+ * NDJSON holds one JSON object per line, CSV one row per student after a header row
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parse a request parameter value
+     *
+     * @param value Parameter value, case insensitive
+     * @return Matching export format
+     * @throws ValidationException if the value is not a known format
+     */
+    public static ExportFormat fromParameter(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        ValidationException exception = new ValidationException("Invalid export format");
+        exception.addError("format", "Must be one of: ndjson, csv");
+        throw exception;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.student_api.dto;
+
+import java.util.List;
+
+/**
+ * DTO for image processing pool statistics
+ * Counters and timings are cumulative since the application started
+ */
+public class ImageProcessingStatsDTO {
+    private int threads;
+    private int activeThreads;
+    private int queued;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private List<StageTiming> stages;
+
+    public ImageProcessingStatsDTO() {
+    }
+
+    public ImageProcessingStatsDTO(int threads, int activeThreads, int queued, int queueCapacity, long completed,
+                                   long rejected, List<StageTiming> stages) {
+        this.threads = threads;
+        this.activeThreads = activeThreads;
+        this.queued = queued;
+        this.queueCapacity = queueCapacity;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.stages = stages;
+    }
+
+    /**
+     * Time spent in one stage of thumbnail creation
+     */
+    public static class StageTiming {
+        private String stage;
+        private long count;
+        private long totalMillis;
+        private double averageMillis;
+        private long maxMillis;
+
+        public StageTiming() {
+        }
+
+        public StageTiming(String stage, long count, long totalMillis, double averageMillis, long maxMillis) {
+            this.stage = stage;
+            this.count = count;
+            this.totalMillis = totalMillis;
+            this.averageMillis = averageMillis;
+            this.maxMillis = maxMillis;
+        }
+
+        // Getters and setters
+        public String getStage() {
+            return stage;
+        }
+
+        public void setStage(String stage) {
+            this.stage = stage;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public void setTotalMillis(long totalMillis) {
+            this.totalMillis = totalMillis;
+        }
+
+        public double getAverageMillis() {
+            return averageMillis;
+        }
+
+        public void setAverageMillis(double averageMillis) {
+            this.averageMillis = averageMillis;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+
+        public void setMaxMillis(long maxMillis) {
+            this.maxMillis = maxMillis;
+        }
+    }
+
+    // Getters and setters
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public void setActiveThreads(int activeThreads) {
+        this.activeThreads = activeThreads;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<StageTiming> getStages() {
+        return stages;
+    }
+
+    public void setStages(List<StageTiming> stages) {
+        this.stages = stages;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.student_api.dto;
+
+import com.example.student_api.service.ImportJob;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for import job progress
+ */
+public class ImportJobDTO {
+    private String id;
+    private String status;
+    private String fileName;
+    private long rowsRead;
+    private long rowsProcessed;
+    private long rowsImported;
+    private long rowsFailed;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+    private String errorReportUrl;
+
+    public ImportJobDTO() {
+    }
+
+    /**
+     * Convert an import job to ImportJobDTO
+     * The error report URL is only set once the job has finished with failed rows
+     *
+     * @param job Import job
+     * @return ImportJobDTO
+     */
+    public static ImportJobDTO fromJob(ImportJob job) {
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.id = job.getId();
+        dto.status = job.getStatus().name();
+        dto.fileName = job.getFileName();
+        dto.rowsRead = job.getRowsRead().get();
+        dto.rowsProcessed = job.getRowsProcessed().get();
+        dto.rowsImported = job.getRowsImported().get();
+        dto.rowsFailed = job.getRowsFailed().get();
+        dto.createdAt = job.getCreatedAt();
+        dto.startedAt = job.getStartedAt();
+        dto.finishedAt = job.getFinishedAt();
+        dto.message = job.getMessage();
+        if (job.isFinished() && dto.rowsFailed > 0) {
+            dto.errorReportUrl = "/api/import-jobs/" + job.getId() + "/errors";
+        }
+        return dto;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    public void setRowsProcessed(long rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public void setRowsFailed(long rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getErrorReportUrl() {
+        return errorReportUrl;
+    }
+
+    public void setErrorReportUrl(String errorReportUrl) {
+        this.errorReportUrl = errorReportUrl;
+    }
+}
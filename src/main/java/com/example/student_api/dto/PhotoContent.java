@@ -0,0 +1,28 @@
+package com.example.student_api.dto;
+
+/**
+ * Raw photo bytes with the metadata needed to serve them over HTTP
+ */
+public class PhotoContent {
+    private final byte[] data;
+    private final String contentType;
+    private final String contentHash;
+
+    public PhotoContent(byte[] data, String contentType, String contentHash) {
+        this.data = data;
+        this.contentType = contentType;
+        this.contentHash = contentHash;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+}
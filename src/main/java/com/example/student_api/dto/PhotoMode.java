@@ -0,0 +1,30 @@
+package com.example.student_api.dto;
+
+import com.example.student_api.exception.ValidationException;
+
+/**
+ * How student photos are represented in responses
+ * INLINE embeds the thumbnail as Base64, URL links to the binary photo endpoint instead
+ */
+public enum PhotoMode {
+    INLINE,
+    URL;
+
+    /**
+     * Parse a request parameter value
+     *
+     * @param value Parameter value, case insensitive
+     * @return Matching photo mode
+     * @throws ValidationException if the value is not a known mode
+     */
+    public static PhotoMode fromParameter(String value) {
+        for (PhotoMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        ValidationException exception = new ValidationException("Invalid photo mode");
+        exception.addError("photos", "Must be one of: inline, url");
+        throw exception;
+    }
+}
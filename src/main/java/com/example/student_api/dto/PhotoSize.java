@@ -0,0 +1,29 @@
+package com.example.student_api.dto;
+
+import com.example.student_api.exception.ValidationException;
+
+/**
+ * Variant of a student photo served by the photo endpoint
+ */
+public enum PhotoSize {
+    THUMB,
+    FULL;
+
+    /**
+     * Parse a request parameter value
+     *
+     * @param value Parameter value, case insensitive
+     * @return Matching photo size
+     * @throws ValidationException if the value is not a known size
+     */
+    public static PhotoSize fromParameter(String value) {
+        for (PhotoSize size : values()) {
+            if (size.name().equalsIgnoreCase(value)) {
+                return size;
+            }
+        }
+        ValidationException exception = new ValidationException("Invalid photo size");
+        exception.addError("size", "Must be one of: thumb, full");
+        throw exception;
+    }
+}
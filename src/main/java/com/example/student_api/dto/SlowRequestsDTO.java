@@ -0,0 +1,234 @@
+package com.example.student_api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO for the slow request log
+ * Requests are listed newest first; only sampled requests carry a stage breakdown
+ */
+public class SlowRequestsDTO {
+    private long thresholdMillis;
+    private double sampleRate;
+    private int capacity;
+    private long recorded;
+    private long unsampled;
+    private List<SlowRequest> requests;
+
+    public SlowRequestsDTO() {
+    }
+
+    public SlowRequestsDTO(long thresholdMillis, double sampleRate, int capacity, long recorded, long unsampled,
+                           List<SlowRequest> requests) {
+        this.thresholdMillis = thresholdMillis;
+        this.sampleRate = sampleRate;
+        this.capacity = capacity;
+        this.recorded = recorded;
+        this.unsampled = unsampled;
+        this.requests = requests;
+    }
+
+    /**
+     * One request that took longer than the threshold
+     */
+    public static class SlowRequest {
+        private Instant timestamp;
+        private String method;
+        private String path;
+        private String query;
+        private String pattern;
+        private int status;
+        private double totalMillis;
+        private double dbMillis;
+        private int statements;
+        private long rows;
+        private long dbBytes;
+        private double imageMillis;
+        private double serializationMillis;
+        private long responseBytes;
+
+        public SlowRequest() {
+        }
+
+        public SlowRequest(Instant timestamp, String method, String path, String query, String pattern, int status,
+                           double totalMillis, double dbMillis, int statements, long rows, long dbBytes,
+                           double imageMillis, double serializationMillis, long responseBytes) {
+            this.timestamp = timestamp;
+            this.method = method;
+            this.path = path;
+            this.query = query;
+            this.pattern = pattern;
+            this.status = status;
+            this.totalMillis = totalMillis;
+            this.dbMillis = dbMillis;
+            this.statements = statements;
+            this.rows = rows;
+            this.dbBytes = dbBytes;
+            this.imageMillis = imageMillis;
+            this.serializationMillis = serializationMillis;
+            this.responseBytes = responseBytes;
+        }
+
+        // Getters and setters
+        public Instant getTimestamp() {
+            return timestamp;
+        }
+
+        public void setTimestamp(Instant timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public void setQuery(String query) {
+            this.query = query;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        public double getTotalMillis() {
+            return totalMillis;
+        }
+
+        public void setTotalMillis(double totalMillis) {
+            this.totalMillis = totalMillis;
+        }
+
+        public double getDbMillis() {
+            return dbMillis;
+        }
+
+        public void setDbMillis(double dbMillis) {
+            this.dbMillis = dbMillis;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public void setStatements(int statements) {
+            this.statements = statements;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public void setRows(long rows) {
+            this.rows = rows;
+        }
+
+        public long getDbBytes() {
+            return dbBytes;
+        }
+
+        public void setDbBytes(long dbBytes) {
+            this.dbBytes = dbBytes;
+        }
+
+        public double getImageMillis() {
+            return imageMillis;
+        }
+
+        public void setImageMillis(double imageMillis) {
+            this.imageMillis = imageMillis;
+        }
+
+        public double getSerializationMillis() {
+            return serializationMillis;
+        }
+
+        public void setSerializationMillis(double serializationMillis) {
+            this.serializationMillis = serializationMillis;
+        }
+
+        public long getResponseBytes() {
+            return responseBytes;
+        }
+
+        public void setResponseBytes(long responseBytes) {
+            this.responseBytes = responseBytes;
+        }
+    }
+
+    // Getters and setters
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public void setThresholdMillis(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public long getRecorded() {
+        return recorded;
+    }
+
+    public void setRecorded(long recorded) {
+        this.recorded = recorded;
+    }
+
+    public long getUnsampled() {
+        return unsampled;
+    }
+
+    public void setUnsampled(long unsampled) {
+        this.unsampled = unsampled;
+    }
+
+    public List<SlowRequest> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<SlowRequest> requests) {
+        this.requests = requests;
+    }
+}
@@ -1,24 +1,30 @@
 package com.example.student_api.dto;
 
 import com.example.student_api.model.Student;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.time.LocalDate;
 
 /**
  * Data Transfer Object for Student entity
  * Used for transferring student data between layers
+ * Null fields are left out of JSON, so sparse fieldsets and absent photos add no bytes
+ * The photo is held as bytes: Jackson writes it as Base64 in JSON and as a byte string in CBOR and Smile
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class StudentDTO {
     private Long id;
     private String name;
     private LocalDate birthDate;
     private String mobileNo;
-    private String photoBase64;
+    private byte[] photoBase64;
+    private String photoUrl;
+    private Long version;
 
     public StudentDTO() {
     }
 
-    public StudentDTO(Long id, String name, LocalDate birthDate, String mobileNo, String photoBase64) {
+    public StudentDTO(Long id, String name, LocalDate birthDate, String mobileNo, byte[] photoBase64) {
         this.id = id;
         this.name = name;
         this.birthDate = birthDate;
@@ -33,13 +39,15 @@ public class StudentDTO {
      * @return StudentDTO
      */
     public static StudentDTO fromEntity(Student student) {
-        return new StudentDTO(
+        StudentDTO studentDTO = new StudentDTO(
                 student.getId(),
                 student.getName(),
                 student.getBirthDate(),
                 student.getMobileNo(),
                 student.getPhotoBase64()
         );
+        studentDTO.setVersion(student.getVersion());
+        return studentDTO;
     }
 
     /**
@@ -90,11 +98,27 @@ public class StudentDTO {
         this.mobileNo = mobileNo;
     }
 
-    public String getPhotoBase64() {
+    public byte[] getPhotoBase64() {
         return photoBase64;
     }
 
-    public void setPhotoBase64(String photoBase64) {
+    public void setPhotoBase64(byte[] photoBase64) {
         this.photoBase64 = photoBase64;
     }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public void setPhotoUrl(String photoUrl) {
+        this.photoUrl = photoUrl;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
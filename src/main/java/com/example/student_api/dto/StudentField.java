@@ -0,0 +1,71 @@
+package com.example.student_api.dto;
+
+import com.example.student_api.exception.ValidationException;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Student fields a client can select with the fields parameter
+ * Every field except PHOTO maps to a Student column of the same name. The ID is always included.
+ */
+public enum StudentField {
+    ID("id"),
+    NAME("name"),
+    BIRTH_DATE("birthDate"),
+    MOBILE_NO("mobileNo"),
+    PHOTO("photo");
+
+    private static final Set<StudentField> ALL = Collections.unmodifiableSet(EnumSet.allOf(StudentField.class));
+
+    private final String parameterName;
+
+    StudentField(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    /**
+     * @return Name used in the fields parameter and, for columns, the Student attribute name
+     */
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    /**
+     * Parse a comma-separated fields parameter
+     *
+     * @param value Parameter value, case insensitive; null or blank selects every field
+     * @return Selected fields, always including ID
+     * @throws ValidationException if a field is not known
+     */
+    public static Set<StudentField> fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL;
+        }
+        Set<StudentField> fields = EnumSet.of(ID);
+        for (String name : value.split(",")) {
+            fields.add(fromName(name.trim()));
+        }
+        return fields;
+    }
+
+    /**
+     * @param fields Selected fields
+     * @return Whether every field is selected
+     */
+    public static boolean isAll(Set<StudentField> fields) {
+        return fields.containsAll(ALL);
+    }
+
+    private static StudentField fromName(String name) {
+        for (StudentField field : values()) {
+            if (field.parameterName.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        ValidationException exception = new ValidationException("Invalid fields");
+        exception.addError("fields", "Must be a comma-separated list of: id, name, birthDate, mobileNo, photo");
+        throw exception;
+    }
+}
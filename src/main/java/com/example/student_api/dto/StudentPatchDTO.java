@@ -0,0 +1,73 @@
+package com.example.student_api.dto;
+
+import java.time.LocalDate;
+
+/**
+ * JSON Merge Patch (RFC 7396) for a student
+ * Jackson only calls the setters of members present in the patch, so each field records whether
+ * it was given. A member set to null removes the value: the photo is deleted, while required
+ * fields fail validation. Members that are not student fields, such as id, are ignored.
+ */
+public class StudentPatchDTO {
+    private String name;
+    private LocalDate birthDate;
+    private String mobileNo;
+    private byte[] photoBase64;
+    private boolean nameSet;
+    private boolean birthDateSet;
+    private boolean mobileNoSet;
+    private boolean photoBase64Set;
+
+    // Getters and setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        this.nameSet = true;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        this.birthDate = birthDate;
+        this.birthDateSet = true;
+    }
+
+    public String getMobileNo() {
+        return mobileNo;
+    }
+
+    public void setMobileNo(String mobileNo) {
+        this.mobileNo = mobileNo;
+        this.mobileNoSet = true;
+    }
+
+    public byte[] getPhotoBase64() {
+        return photoBase64;
+    }
+
+    public void setPhotoBase64(byte[] photoBase64) {
+        this.photoBase64 = photoBase64;
+        this.photoBase64Set = true;
+    }
+
+    public boolean hasName() {
+        return nameSet;
+    }
+
+    public boolean hasBirthDate() {
+        return birthDateSet;
+    }
+
+    public boolean hasMobileNo() {
+        return mobileNoSet;
+    }
+
+    public boolean hasPhotoBase64() {
+        return photoBase64Set;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.student_api.dto;
+
+/**
+ * Minimal student reference returned by the typeahead endpoint
+ */
+public class SuggestionDTO {
+    private Long id;
+    private String name;
+
+    public SuggestionDTO() {
+    }
+
+    public SuggestionDTO(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
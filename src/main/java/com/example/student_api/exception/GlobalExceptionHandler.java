@@ -1,20 +1,27 @@
 package com.example.student_api.exception;
 
 import com.example.student_api.dto.ApiResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.io.IOException;
+import java.util.Map;
 
 /**
  * Global exception handler for the application
  * Provides centralized exception handling for all controllers
  */
 @RestControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     /**
@@ -32,6 +39,86 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
     
+    /**
+     * Handle ValidationException
+     * 
+     * @param ex The exception
+     * @param request The web request
+     * @return ResponseEntity with the field errors
+     */
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationException(
+            ValidationException ex, WebRequest request) {
+        
+        ApiResponse<Map<String, String>> response = new ApiResponse<>(false, ex.getMessage(), ex.getErrors());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+    
+    /**
+     * Report a photoBase64 that is not valid Base64 like any other invalid field
+     * Other unreadable bodies keep the default handling
+     */
+    @Override
+    protected ResponseEntity<Object> handleHttpMessageNotReadable(
+            HttpMessageNotReadableException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        
+        ValidationException photoError = ValidationException.forUnreadablePhoto(ex);
+        if (photoError != null) {
+            ApiResponse<Map<String, String>> response =
+                    new ApiResponse<>(false, photoError.getMessage(), photoError.getErrors());
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+        return super.handleHttpMessageNotReadable(ex, headers, status, request);
+    }
+    
+    /**
+     * Handle ServiceUnavailableException
+     * 
+     * @param ex The exception
+     * @param request The web request
+     * @return ResponseEntity with error details and a retry hint
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request) {
+        
+        ApiResponse<Void> response = ApiResponse.error(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+    
+    /**
+     * Handle PreconditionFailedException
+     * 
+     * @param ex The exception
+     * @param request The web request
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<Void>> handlePreconditionFailedException(
+            PreconditionFailedException ex, WebRequest request) {
+        
+        ApiResponse<Void> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+    
+    /**
+     * Handle OptimisticLockingFailureException
+     * Another request changed the same row between our read and our write
+     * 
+     * @param ex The exception
+     * @param request The web request
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+        
+        ApiResponse<Void> response = ApiResponse.error("The resource was modified by another request");
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+    
     /**
      * Handle IOException
      * 
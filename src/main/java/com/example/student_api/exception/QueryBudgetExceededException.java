@@ -0,0 +1,27 @@
+package com.example.student_api.exception;
+
+/**
+ * Exception thrown when a request or block runs more SQL statements than its budget allows
+ * Only thrown when the query guard runs in fail mode, as in tests
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String scope;
+    private final int budget;
+
+    public QueryBudgetExceededException(String scope, int budget, String sql) {
+        super(String.format("%s executed more than %d SQL statements, latest: %s", scope, budget, sql));
+        this.scope = scope;
+        this.budget = budget;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+}
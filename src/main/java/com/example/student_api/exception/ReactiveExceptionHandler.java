@@ -0,0 +1,99 @@
+package com.example.student_api.exception;
+
+import com.example.student_api.dto.ApiResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.Map;
+
+/**
+ * Exception handler for the reactive profile
+ * Produces the same error bodies as GlobalExceptionHandler, which depends on Spring MVC types
+ */
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handle ResourceNotFoundException
+     *
+     * @param ex The exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        ApiResponse<Void> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handle ValidationException
+     *
+     * @param ex The exception
+     * @return ResponseEntity with the field errors
+     */
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationException(ValidationException ex) {
+        ApiResponse<Map<String, String>> response = new ApiResponse<>(false, ex.getMessage(), ex.getErrors());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle ServiceUnavailableException
+     *
+     * @param ex The exception
+     * @return ResponseEntity with error details and a retry hint
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        ApiResponse<Void> response = ApiResponse.error(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**
+     * Handle framework errors such as missing parameters or unsupported media types
+     *
+     * @param ex The exception
+     * @return ResponseEntity with the framework's status
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ApiResponse<Void>> handleResponseStatusException(ResponseStatusException ex) {
+        ApiResponse<Void> response = ApiResponse.error(ex.getReason() != null ? ex.getReason() : ex.getMessage());
+        return new ResponseEntity<>(response, ex.getStatusCode());
+    }
+
+    /**
+     * Handle an unreadable request body, reporting a photoBase64 that is not valid Base64 as a field error
+     *
+     * @param ex The exception
+     * @return ResponseEntity with the field errors, or with the framework's status
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<? extends ApiResponse<?>> handleServerWebInputException(ServerWebInputException ex) {
+        ValidationException photoError = ValidationException.forUnreadablePhoto(ex);
+        if (photoError != null) {
+            return handleValidationException(photoError);
+        }
+        return handleResponseStatusException(ex);
+    }
+
+    /**
+     * Handle all other exceptions
+     *
+     * @param ex The exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiResponse<Void>> handleGlobalException(Exception ex) {
+        ApiResponse<Void> response = ApiResponse.error("An unexpected error occurred: " + ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
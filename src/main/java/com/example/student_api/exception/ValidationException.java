@@ -1,9 +1,11 @@
 package com.example.student_api.exception;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -34,4 +36,26 @@ public class ValidationException extends RuntimeException {
     public void addError(String field, String message) {
         this.errors.put(field, message);
     }
+
+    /**
+     * Turn a request body that failed to bind because photoBase64 is not valid Base64 into a field error
+     * Jackson decodes the photo while reading the body, before any service sees it.
+     *
+     * @param ex Error from reading the request body
+     * @return Validation error for photoBase64, or null if the body failed for another reason
+     */
+    public static ValidationException forUnreadablePhoto(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonMappingException mappingException) {
+                List<JsonMappingException.Reference> path = mappingException.getPath();
+                if (!path.isEmpty() && "photoBase64".equals(path.get(path.size() - 1).getFieldName())) {
+                    ValidationException validationException = new ValidationException("Validation failed");
+                    validationException.addError("photoBase64", "Photo is not valid Base64");
+                    return validationException;
+                }
+                return null;
+            }
+        }
+        return null;
+    }
 }
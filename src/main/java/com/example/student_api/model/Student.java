@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
@@ -11,23 +12,29 @@ import java.time.LocalDate;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+// Updates only write the columns that changed, e.g. a PATCH of the mobile number
+@DynamicUpdate
 @Table(name = "students")
 public class Student {
 
+    // Sequence IDs allocated in blocks so inserts can be JDBC batched, which IDENTITY prevents
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "student_seq", allocationSize = 50)
     private Long id;
 
     private String name;
     private LocalDate birthDate;
     private String mobileNo;
 
-    @Lob
-    @Column(columnDefinition = "LONGBLOB")
-    private byte[] photo;
+    // Incremented on every committed change; used as the ETag of the student
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
+    // Photo bytes live in StudentPhoto so loading a student never pulls the BLOB
     @Transient
-    private String photoBase64;
+    private byte[] photoBase64;
 
     // Getters and setters explicitly defined to avoid Lombok issues
 
@@ -63,19 +70,19 @@ public class Student {
         this.mobileNo = mobileNo;
     }
 
-    public byte[] getPhoto() {
-        return photo;
+    public Long getVersion() {
+        return version;
     }
 
-    public void setPhoto(byte[] photo) {
-        this.photo = photo;
+    public void setVersion(Long version) {
+        this.version = version;
     }
 
-    public String getPhotoBase64() {
+    public byte[] getPhotoBase64() {
         return photoBase64;
     }
 
-    public void setPhotoBase64(String photoBase64) {
+    public void setPhotoBase64(byte[] photoBase64) {
         this.photoBase64 = photoBase64;
     }
 }
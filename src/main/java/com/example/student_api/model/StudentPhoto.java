@@ -0,0 +1,66 @@
+package com.example.student_api.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Original photo of a student
+ * Kept out of the Student entity and only loaded when the full image is needed.
+ * Constructed photos are always new, so saving one inserts it without first selecting the old
+ * row; StudentPhotoService deletes the previous photo before saving a replacement.
+ */
+@Entity
+@Table(name = "student_photos")
+public class StudentPhoto implements Persistable<Long> {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Lob
+    @Column(columnDefinition = "LONGBLOB", nullable = false)
+    private byte[] data;
+
+    @Transient
+    private boolean isNew = true;
+
+    public StudentPhoto() {
+    }
+
+    public StudentPhoto(Long studentId, byte[] data) {
+        this.studentId = studentId;
+        this.data = data;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public Long getId() {
+        return studentId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
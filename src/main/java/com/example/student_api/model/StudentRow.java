@@ -0,0 +1,75 @@
+package com.example.student_api.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * R2DBC mapping of the students table for the reactive profile
+ * The schema is owned by the JPA Student entity; IDs come from student_seq and are set before insert
+ */
+@Table("students")
+public class StudentRow {
+
+    @Id
+    private Long id;
+
+    private String name;
+    private LocalDate birthDate;
+    private String mobileNo;
+
+    @Version
+    private Long version;
+
+    public StudentRow() {
+    }
+
+    public StudentRow(Long id, String name, LocalDate birthDate, String mobileNo) {
+        this.id = id;
+        this.name = name;
+        this.birthDate = birthDate;
+        this.mobileNo = mobileNo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public String getMobileNo() {
+        return mobileNo;
+    }
+
+    public void setMobileNo(String mobileNo) {
+        this.mobileNo = mobileNo;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.student_api.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Precomputed photo thumbnail for a student
+ * Shares its primary key with the owning student and is written once when the photo changes.
+ * Like StudentPhoto, constructed thumbnails are always inserted rather than merged.
+ */
+@Entity
+@Table(name = "student_thumbnails")
+public class StudentThumbnail implements Persistable<Long> {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB", nullable = false)
+    private byte[] data;
+
+    private int width;
+    private int height;
+
+    @Column(length = 64, nullable = false)
+    private String contentHash;
+
+    @Transient
+    private boolean isNew = true;
+
+    public StudentThumbnail() {
+    }
+
+    public StudentThumbnail(Long studentId, byte[] data, int width, int height, String contentHash) {
+        this.studentId = studentId;
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.contentHash = contentHash;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    @Override
+    public Long getId() {
+        return studentId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.student_api.repository;
+
+import com.example.student_api.model.StudentThumbnail;
+import com.example.student_api.util.Thumbnail;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * R2DBC access to student photos and thumbnails for the reactive profile
+ * Image columns are read as ByteBuffer, which drivers can decode from BLOBs without a Blob stream
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveStudentPhotoRepository {
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveStudentPhotoRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<byte[]> findPhotoData(Long studentId) {
+        return databaseClient.sql("SELECT data FROM student_photos WHERE student_id = :studentId")
+                .bind("studentId", studentId)
+                .map(row -> toBytes(row.get("data", ByteBuffer.class)))
+                .one();
+    }
+
+    public Mono<String> findContentHash(Long studentId) {
+        return databaseClient.sql("SELECT content_hash FROM student_thumbnails WHERE student_id = :studentId")
+                .bind("studentId", studentId)
+                .map(row -> row.get("content_hash", String.class))
+                .one();
+    }
+
+    public Mono<StudentThumbnail> findThumbnail(Long studentId) {
+        return databaseClient.sql("SELECT student_id, data, width, height, content_hash FROM student_thumbnails "
+                        + "WHERE student_id = :studentId")
+                .bind("studentId", studentId)
+                .map(ReactiveStudentPhotoRepository::toThumbnail)
+                .one();
+    }
+
+    public Flux<StudentThumbnail> findThumbnails(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT student_id, data, width, height, content_hash FROM student_thumbnails "
+                        + "WHERE student_id IN (:studentIds)")
+                .bind("studentIds", studentIds)
+                .map(ReactiveStudentPhotoRepository::toThumbnail)
+                .all();
+    }
+
+    public Mono<Map<Long, String>> findContentHashes(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return databaseClient.sql("SELECT student_id, content_hash FROM student_thumbnails "
+                        + "WHERE student_id IN (:studentIds)")
+                .bind("studentIds", studentIds)
+                .map(row -> Map.entry(row.get("student_id", Long.class), row.get("content_hash", String.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Replace a student's photo and thumbnail
+     *
+     * @param studentId Student ID
+     * @param photo Original photo bytes
+     * @param thumbnail Thumbnail created from the photo
+     * @return Completes when both rows are written
+     */
+    public Mono<Void> savePhoto(Long studentId, byte[] photo, Thumbnail thumbnail) {
+        return deletePhoto(studentId)
+                .then(databaseClient.sql("INSERT INTO student_photos (student_id, data) VALUES (:studentId, :data)")
+                        .bind("studentId", studentId)
+                        .bind("data", photo)
+                        .then())
+                .then(databaseClient.sql("INSERT INTO student_thumbnails (student_id, data, width, height, content_hash) "
+                                + "VALUES (:studentId, :data, :width, :height, :contentHash)")
+                        .bind("studentId", studentId)
+                        .bind("data", thumbnail.getData())
+                        .bind("width", thumbnail.getWidth())
+                        .bind("height", thumbnail.getHeight())
+                        .bind("contentHash", thumbnail.getContentHash())
+                        .then());
+    }
+
+    public Mono<Void> deletePhoto(Long studentId) {
+        return databaseClient.sql("DELETE FROM student_thumbnails WHERE student_id = :studentId")
+                .bind("studentId", studentId)
+                .then()
+                .then(databaseClient.sql("DELETE FROM student_photos WHERE student_id = :studentId")
+                        .bind("studentId", studentId)
+                        .then());
+    }
+
+    private static StudentThumbnail toThumbnail(Readable row) {
+        return new StudentThumbnail(row.get("student_id", Long.class), toBytes(row.get("data", ByteBuffer.class)),
+                row.get("width", Integer.class), row.get("height", Integer.class),
+                row.get("content_hash", String.class));
+    }
+
+    private static byte[] toBytes(ByteBuffer data) {
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        return bytes;
+    }
+}
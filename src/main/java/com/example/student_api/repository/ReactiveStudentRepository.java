@@ -0,0 +1,18 @@
+package com.example.student_api.repository;
+
+import com.example.student_api.model.StudentRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveStudentRepository extends R2dbcRepository<StudentRow, Long> {
+
+    Flux<StudentRow> findAllBy(Pageable pageable);
+
+    Flux<StudentRow> findByNameContainingIgnoreCaseOrderById(String name);
+
+    Flux<StudentRow> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    Mono<Long> countByNameContainingIgnoreCase(String name);
+}
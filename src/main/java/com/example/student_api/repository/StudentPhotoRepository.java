@@ -0,0 +1,17 @@
+package com.example.student_api.repository;
+
+import com.example.student_api.model.StudentPhoto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface StudentPhotoRepository extends JpaRepository<StudentPhoto, Long> {
+
+    @Query("select p.studentId from StudentPhoto p where p.studentId > :afterId "
+            + "and not exists (select t.studentId from StudentThumbnail t where t.studentId = p.studentId) "
+            + "order by p.studentId")
+    List<Long> findIdsMissingThumbnail(@Param("afterId") Long afterId, Pageable pageable);
+}
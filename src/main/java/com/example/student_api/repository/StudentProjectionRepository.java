@@ -0,0 +1,35 @@
+package com.example.student_api.repository;
+
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.dto.StudentField;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Queries that select only the requested student columns
+ * Results are DTOs with unselected fields left null; photos are not loaded here.
+ */
+public interface StudentProjectionRepository {
+
+    /**
+     * Find students, optionally filtered by name
+     *
+     * @param fields Columns to select; the ID is always selected
+     * @param name Case-insensitive name substring, or null for all students
+     * @param pageable Page and sort, or Pageable.unpaged()
+     * @return Projected students
+     */
+    List<StudentDTO> findProjected(Set<StudentField> fields, String name, Pageable pageable);
+
+    /**
+     * Find students by ID, in no particular order
+     *
+     * @param fields Columns to select; the ID is always selected
+     * @param ids Student IDs
+     * @return Projected students that exist
+     */
+    List<StudentDTO> findProjectedByIdIn(Set<StudentField> fields, Collection<Long> ids);
+}
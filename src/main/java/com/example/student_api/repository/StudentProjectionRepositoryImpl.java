@@ -0,0 +1,95 @@
+package com.example.student_api.repository;
+
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.dto.StudentField;
+import com.example.student_api.model.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Criteria implementation of StudentProjectionRepository
+ * Builds a tuple query per field set, since interface projections are fixed at compile time
+ */
+class StudentProjectionRepositoryImpl implements StudentProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StudentDTO> findProjected(Set<StudentField> fields, String name, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Student> root = query.from(Student.class);
+        query.multiselect(selections(root, fields));
+        if (name != null) {
+            String pattern = "%" + EscapeCharacter.DEFAULT.escape(name.toLowerCase(Locale.ROOT)) + "%";
+            query.where(cb.like(cb.lower(root.get("name")), pattern, EscapeCharacter.DEFAULT.getEscapeCharacter()));
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return toDTOs(typedQuery.getResultList(), fields);
+    }
+
+    @Override
+    public List<StudentDTO> findProjectedByIdIn(Set<StudentField> fields, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+        Root<Student> root = query.from(Student.class);
+        query.multiselect(selections(root, fields)).where(root.get("id").in(ids));
+        return toDTOs(entityManager.createQuery(query).getResultList(), fields);
+    }
+
+    private static List<Selection<?>> selections(Root<Student> root, Set<StudentField> fields) {
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get(StudentField.ID.getParameterName()).alias(StudentField.ID.getParameterName()));
+        for (StudentField field : fields) {
+            if (field != StudentField.ID && field != StudentField.PHOTO) {
+                selections.add(root.get(field.getParameterName()).alias(field.getParameterName()));
+            }
+        }
+        return selections;
+    }
+
+    private static List<StudentDTO> toDTOs(List<Tuple> tuples, Set<StudentField> fields) {
+        List<StudentDTO> students = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            StudentDTO studentDTO = new StudentDTO();
+            studentDTO.setId(tuple.get(StudentField.ID.getParameterName(), Long.class));
+            if (fields.contains(StudentField.NAME)) {
+                studentDTO.setName(tuple.get(StudentField.NAME.getParameterName(), String.class));
+            }
+            if (fields.contains(StudentField.BIRTH_DATE)) {
+                studentDTO.setBirthDate(tuple.get(StudentField.BIRTH_DATE.getParameterName(), LocalDate.class));
+            }
+            if (fields.contains(StudentField.MOBILE_NO)) {
+                studentDTO.setMobileNo(tuple.get(StudentField.MOBILE_NO.getParameterName(), String.class));
+            }
+            students.add(studentDTO);
+        }
+        return students;
+    }
+}
@@ -3,11 +3,46 @@ package com.example.student_api.repository;
 import com.example.student_api.model.Student;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentProjectionRepository {
     List<Student> findByNameContainingIgnoreCase(String name);
     Page<Student> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    long countByNameContainingIgnoreCase(String name);
+
+    // Lets conditional GETs answer 304 without loading the student or its photo
+    @Query("select s.version from Student s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Keyset pagination: seek past the last seen ID instead of using OFFSET, no count query
+    Slice<Student> findByIdGreaterThan(Long id, Pageable pageable);
+    Slice<Student> findByNameContainingIgnoreCaseAndIdGreaterThan(String name, Long id, Pageable pageable);
+
+    // Streams rows with a bounded JDBC fetch size; must be consumed inside a transaction and closed
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select s from Student s order by s.id")
+    Stream<Student> streamAllOrderById();
+
+    @Query("select s.id as id, s.name as name from Student s where s.id > :afterId order by s.id")
+    List<StudentName> findNamesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Projection of a student's ID and name, used to build the in-memory name index
+     */
+    interface StudentName {
+        Long getId();
+        String getName();
+    }
 }
@@ -0,0 +1,28 @@
+package com.example.student_api.repository;
+
+import com.example.student_api.model.StudentThumbnail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StudentThumbnailRepository extends JpaRepository<StudentThumbnail, Long> {
+
+    @Query("select t.contentHash from StudentThumbnail t where t.studentId = :studentId")
+    Optional<String> findContentHashByStudentId(@Param("studentId") Long studentId);
+
+    @Query("select t.studentId as studentId, t.contentHash as contentHash from StudentThumbnail t "
+            + "where t.studentId in :studentIds")
+    List<ContentHash> findContentHashesByStudentIdIn(@Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Projection of a thumbnail's content hash without its image bytes
+     */
+    interface ContentHash {
+        Long getStudentId();
+        String getContentHash();
+    }
+}
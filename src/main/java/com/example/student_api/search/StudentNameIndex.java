@@ -0,0 +1,646 @@
+package com.example.student_api.search;
+
+import com.example.student_api.dto.SuggestionDTO;
+import com.example.student_api.repository.StudentRepository;
+import com.example.student_api.repository.StudentRepository.StudentName;
+import com.example.student_api.service.StudentChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-process trigram index over student names
+ * Replaces LIKE '%term%' scans with posting list intersections. Substring matches are ranked
+ * exact > prefix > word prefix > infix, and fuzzy matches within a small edit distance follow.
+ * Sorted name and word keys also answer typeahead prefix lookups without a database round trip,
+ * and queries shorter than a trigram, which only match names or words starting with them.
+ * Kept in sync through StudentChangedEvent after each commit; each application instance
+ * maintains its own copy, so writes made by other instances are only seen after a restart.
+ */
+@Component
+public class StudentNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentNameIndex.class);
+    private static final int GRAM_LENGTH = 3;
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    // Ranking scores; fuzzy matches score below every substring match
+    private static final double EXACT_SCORE = 100;
+    private static final double PREFIX_SCORE = 80;
+    private static final double WORD_PREFIX_SCORE = 60;
+    private static final double INFIX_SCORE = 40;
+    private static final double FUZZY_SCORE = 20;
+
+    private final StudentRepository studentRepository;
+    private final boolean enabled;
+    private final boolean fuzzyEnabled;
+    private final int maxFuzzyPostings;
+    private final int maxResults;
+
+    // Normalized names, display names, trigram posting lists and sorted prefix keys, guarded by lock
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, String> displayNames = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final NavigableMap<String, Long> namePrefixes = new TreeMap<>();
+    private final NavigableMap<String, Long> wordPrefixes = new TreeMap<>();
+    // IDs deleted while the initial load runs, so rows it read before the delete are not re-added
+    private final Set<Long> deletedWhileLoading = new HashSet<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loading;
+    private volatile boolean loaded;
+
+    @Autowired
+    public StudentNameIndex(StudentRepository studentRepository,
+                            @Value("${student.search.index.enabled:true}") boolean enabled,
+                            @Value("${student.search.fuzzy.enabled:true}") boolean fuzzyEnabled,
+                            @Value("${student.search.fuzzy.max-postings:20000}") int maxFuzzyPostings,
+                            @Value("${student.search.max-results:1000}") int maxResults) {
+        this.studentRepository = studentRepository;
+        this.enabled = enabled;
+        this.fuzzyEnabled = fuzzyEnabled;
+        this.maxFuzzyPostings = maxFuzzyPostings;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Build the index in the background once the application is ready
+     * Searches fall back to the database until loading completes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofPlatform()
+                .name("student-name-index")
+                .daemon(true)
+                .start(this::loadAll);
+    }
+
+    void loadAll() {
+        long start = System.nanoTime();
+        long afterId = 0;
+        int count = 0;
+        loading = true;
+        try {
+            List<StudentName> batch = studentRepository.findNamesAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                for (StudentName student : batch) {
+                    putIfAbsent(student.getId(), student.getName());
+                    afterId = student.getId();
+                    count++;
+                }
+                batch = studentRepository.findNamesAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            }
+            loaded = true;
+            logger.info("Indexed {} student names in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Student name index load failed, searches fall back to the database", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                loading = false;
+                deletedWhileLoading.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Apply a committed student change to the index
+     *
+     * @param event Student change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getType() == StudentChangedEvent.Type.DELETED) {
+            remove(event.getStudentId());
+        } else {
+            put(event.getStudentId(), event.getName());
+        }
+    }
+
+    /**
+     * @return true if the index is enabled and fully loaded
+     */
+    public boolean isAvailable() {
+        return enabled && loaded;
+    }
+
+    /**
+     * Add or replace a student's name
+     *
+     * @param id Student ID
+     * @param name Student name
+     */
+    public void put(Long id, String name) {
+        String normalized = normalize(name);
+        lock.writeLock().lock();
+        try {
+            displayNames.put(id, name);
+            String previous = names.put(id, normalized);
+            if (normalized.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                removePostings(id, previous);
+                removePrefixKeys(id, previous);
+            }
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+            }
+            addPrefixKeys(id, normalized);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a student from the index
+     * While the initial load runs, the ID is also remembered so the loader does not add it back
+     *
+     * @param id Student ID
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                deletedWhileLoading.add(id);
+            }
+            displayNames.remove(id);
+            String previous = names.remove(id);
+            if (previous != null) {
+                removePostings(id, previous);
+                removePrefixKeys(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search names and rank the results
+     * Substring matches come first (exact, prefix, word prefix, infix), then fuzzy matches.
+     * Ties are broken by shorter name, then by ID. Only the best student.search.max-results
+     * matches are kept, so common queries never sort every match.
+     *
+     * @param query Search text
+     * @return Matching student IDs, best match first
+     */
+    public List<Long> search(String query) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            TopMatches matches = new TopMatches(maxResults);
+            if (normalizedQuery.length() < GRAM_LENGTH) {
+                for (Long id : prefixMatches(normalizedQuery)) {
+                    String name = names.get(id);
+                    matches.offer(id, substringScore(name, normalizedQuery), name.length());
+                }
+                return matches.ranked();
+            }
+            forEachSubstringMatch(normalizedQuery, 0, id -> {
+                String name = names.get(id);
+                matches.offer(id, substringScore(name, normalizedQuery), name.length());
+                return true;
+            });
+            if (fuzzyEnabled) {
+                addFuzzyMatches(normalizedQuery, matches);
+            }
+            return matches.ranked();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find students whose name contains the query, with the same semantics as LIKE '%query%'
+     * Queries shorter than a trigram only match names or words starting with them.
+     *
+     * @param query Search text
+     * @param afterId Only IDs greater than this are returned
+     * @param limit Maximum number of IDs
+     * @return Matching student IDs in ascending order
+     */
+    public List<Long> findContaining(String query, long afterId, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (normalizedQuery.length() < GRAM_LENGTH) {
+                return prefixMatches(normalizedQuery).stream()
+                        .filter(id -> id > afterId)
+                        .sorted()
+                        .limit(limit)
+                        .toList();
+            }
+            List<Long> ids = new ArrayList<>();
+            forEachSubstringMatch(normalizedQuery, afterId, id -> {
+                ids.add(id);
+                return ids.size() < limit;
+            });
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggest students whose name, or any word of it, starts with the prefix
+     * Names starting with the prefix come before later-word matches, each in alphabetical order.
+     *
+     * @param prefix Typed text
+     * @param limit Maximum number of suggestions
+     * @return Suggested students as ID and name pairs
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        List<SuggestionDTO> suggestions = new ArrayList<>();
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return suggestions;
+        }
+        lock.readLock().lock();
+        try {
+            Set<Long> seen = new LinkedHashSet<>();
+            collectPrefixMatches(namePrefixes, normalizedPrefix, limit, seen);
+            collectPrefixMatches(wordPrefixes, normalizedPrefix, limit, seen);
+            for (Long id : seen) {
+                suggestions.add(new SuggestionDTO(id, displayNames.get(id)));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of indexed names
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normalize a name for indexing: strip accents, lowercase and collapse whitespace
+     *
+     * @param value Raw name
+     * @return Normalized name, empty for null
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    /**
+     * Trigrams of a normalized value padded with a space on each side
+     * Padding gives word-start and word-end grams, which makes prefixes selective
+     *
+     * @param normalized Normalized value
+     * @return Distinct trigrams
+     */
+    static Set<String> grams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return grams;
+        }
+        String padded = " " + normalized + " ";
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Add a name read by the loader, unless the student was changed or deleted since
+     */
+    private void putIfAbsent(Long id, String name) {
+        lock.writeLock().lock();
+        try {
+            if (names.containsKey(id) || deletedWhileLoading.contains(id)) {
+                return;
+            }
+            put(id, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removePostings(Long id, String normalized) {
+        for (String gram : grams(normalized)) {
+            PostingList ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.size() == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private void collectPrefixMatches(NavigableMap<String, Long> keys, String prefix, int limit, Set<Long> seen) {
+        for (Map.Entry<String, Long> entry : keys.tailMap(prefix, true).entrySet()) {
+            if (seen.size() >= limit || !entry.getKey().startsWith(prefix)) {
+                return;
+            }
+            seen.add(entry.getValue());
+        }
+    }
+
+    /**
+     * Keys for typeahead: the full name, plus each later word so surnames match too
+     */
+    private void addPrefixKeys(Long id, String normalized) {
+        if (normalized.isEmpty()) {
+            return;
+        }
+        namePrefixes.put(normalized + KEY_SEPARATOR + id, id);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            wordPrefixes.put(normalized.substring(i + 1) + KEY_SEPARATOR + id, id);
+        }
+    }
+
+    private void removePrefixKeys(Long id, String normalized) {
+        namePrefixes.remove(normalized + KEY_SEPARATOR + id);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            wordPrefixes.remove(normalized.substring(i + 1) + KEY_SEPARATOR + id);
+        }
+    }
+
+    /**
+     * IDs of names that start with the query or have a later word starting with it
+     * Answers queries shorter than a trigram from the sorted prefix keys; caller must hold the read lock
+     */
+    private Set<Long> prefixMatches(String normalizedQuery) {
+        Set<Long> ids = new HashSet<>();
+        collectPrefixMatches(namePrefixes, normalizedQuery, Integer.MAX_VALUE, ids);
+        collectPrefixMatches(wordPrefixes, normalizedQuery, Integer.MAX_VALUE, ids);
+        return ids;
+    }
+
+    /**
+     * Pass the IDs of names containing the query to the consumer in ascending order
+     * The query must be at least a trigram long; caller must hold the read lock.
+     *
+     * @param afterId Only IDs greater than this are passed
+     * @param consumer Receives each ID and returns false to stop
+     */
+    private void forEachSubstringMatch(String normalizedQuery, long afterId, LongPredicate consumer) {
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalizedQuery.length(); i++) {
+            PostingList ids = postings.get(normalizedQuery.substring(i, i + GRAM_LENGTH));
+            if (ids == null) {
+                return;
+            }
+            lists.add(ids);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        // Walk the rarest gram and probe the others, then verify to rule out non-adjacent grams
+        PostingList rarest = lists.get(0);
+        candidates:
+        for (int i = rarest.indexAfter(afterId); i < rarest.size(); i++) {
+            long id = rarest.get(i);
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).contains(id)) {
+                    continue candidates;
+                }
+            }
+            if (names.get(id).contains(normalizedQuery) && !consumer.test(id)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Add names within a small edit distance of the query; caller must hold the read lock
+     * Candidates share at least one trigram with the query; very common grams are skipped.
+     */
+    private void addFuzzyMatches(String normalizedQuery, TopMatches matches) {
+        Map<Long, Integer> overlap = new HashMap<>();
+        for (String gram : grams(normalizedQuery)) {
+            PostingList ids = postings.get(gram);
+            if (ids == null || ids.size() > maxFuzzyPostings) {
+                continue;
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                overlap.merge(ids.get(i), 1, Integer::sum);
+            }
+        }
+        int maxEdits = normalizedQuery.length() <= 5 ? 1 : 2;
+        for (Long id : overlap.keySet()) {
+            String name = names.get(id);
+            // Substring matches were already offered with a higher score
+            if (name.contains(normalizedQuery)) {
+                continue;
+            }
+            int distance = bestDistance(name, normalizedQuery, maxEdits);
+            if (distance <= maxEdits) {
+                matches.offer(id, FUZZY_SCORE - distance * 5, name.length());
+            }
+        }
+    }
+
+    private static double substringScore(String name, String normalizedQuery) {
+        if (name.equals(normalizedQuery)) {
+            return EXACT_SCORE;
+        }
+        if (name.startsWith(normalizedQuery)) {
+            return PREFIX_SCORE;
+        }
+        if (name.contains(" " + normalizedQuery)) {
+            return WORD_PREFIX_SCORE;
+        }
+        return INFIX_SCORE;
+    }
+
+    /**
+     * Smallest edit distance between the query and the whole name, any word, or any word prefix
+     * of the query's length, so typos in a first name or surname still match
+     */
+    private static int bestDistance(String name, String query, int maxEdits) {
+        int best = editDistance(name, query, maxEdits);
+        for (String word : name.split(" ")) {
+            best = Math.min(best, editDistance(word, query, maxEdits));
+            if (word.length() > query.length()) {
+                best = Math.min(best, editDistance(word.substring(0, query.length()), query, maxEdits));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein with adjacent transpositions)
+     * Returns maxEdits + 1 early once the distance is known to exceed maxEdits.
+     */
+    static int editDistance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return maxEdits + 1;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Best matches offered so far, bounded to a fixed number
+     * A heap keeps the worst retained match on top, so each offer costs O(log limit)
+     */
+    private static final class TopMatches {
+        private static final Comparator<Match> RANKING = Comparator.comparingDouble(Match::score).reversed()
+                .thenComparingInt(Match::length)
+                .thenComparingLong(Match::id);
+
+        private final int limit;
+        private final PriorityQueue<Match> worstFirst;
+
+        TopMatches(int limit) {
+            this.limit = limit;
+            this.worstFirst = new PriorityQueue<>(Math.max(1, Math.min(limit, 256)), RANKING.reversed());
+        }
+
+        void offer(long id, double score, int length) {
+            if (limit <= 0) {
+                return;
+            }
+            Match match = new Match(id, score, length);
+            if (worstFirst.size() < limit) {
+                worstFirst.add(match);
+            } else if (RANKING.compare(match, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.add(match);
+            }
+        }
+
+        List<Long> ranked() {
+            List<Match> matches = new ArrayList<>(worstFirst);
+            matches.sort(RANKING);
+            List<Long> ids = new ArrayList<>(matches.size());
+            for (Match match : matches) {
+                ids.add(match.id());
+            }
+            return ids;
+        }
+    }
+
+    private record Match(long id, double score, int length) {
+    }
+
+    /**
+     * Sorted, growable array of student IDs for one trigram
+     * Primitive storage keeps the index compact; IDs are usually appended in ascending order.
+     */
+    static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        /**
+         * @return Index of the first ID greater than the given one, or size if there is none
+         */
+        int indexAfter(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        long get(int index) {
+            return ids[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service for reporting cache statistics
+ * Only Caffeine-backed caches record statistics; other providers are skipped
+ */
+@Service
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public CacheStatsService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Get statistics for every cache managed by the application
+     *
+     * @return Statistics per cache
+     */
+    public List<CacheStatsDTO> getCacheStats() {
+        List<CacheStatsDTO> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                stats.add(toStatsDTO(name, caffeine));
+            }
+        }
+        return stats;
+    }
+
+    private static CacheStatsDTO toStatsDTO(String name, com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        CacheStats cacheStats = cache.stats();
+        Long weightedSize = null;
+        Long maximumWeight = null;
+        Optional<? extends Policy.Eviction<?, ?>> eviction = cache.policy().eviction();
+        if (eviction.isPresent() && eviction.get().isWeighted()) {
+            weightedSize = eviction.get().weightedSize().orElse(0L);
+            maximumWeight = eviction.get().getMaximum();
+        }
+        return new CacheStatsDTO(name, cache.estimatedSize(), weightedSize, maximumWeight,
+                cacheStats.hitCount(), cacheStats.missCount(), cacheStats.hitRate(),
+                cacheStats.evictionCount(), cacheStats.evictionWeight());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.ConcurrencyStatsDTO;
+import com.example.student_api.web.ConcurrencyLimitFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for reporting request concurrency statistics
+ * The concurrency limit and pinning monitor are optional; their fields are left empty when disabled
+ */
+@Service
+public class ConcurrencyStatsService {
+
+    private final boolean virtualThreads;
+    private final ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilter;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+
+    @Autowired
+    public ConcurrencyStatsService(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                   ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilter,
+                                   ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor) {
+        this.virtualThreads = virtualThreads;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
+        this.pinningMonitor = pinningMonitor;
+    }
+
+    /**
+     * Get the concurrency limit state and virtual thread pinning sites
+     *
+     * @return Statistics since the application started
+     */
+    public ConcurrencyStatsDTO getConcurrencyStats() {
+        ConcurrencyStatsDTO stats = new ConcurrencyStatsDTO();
+        stats.setVirtualThreads(virtualThreads);
+        ConcurrencyLimitFilter limit = concurrencyLimitFilter.getIfAvailable();
+        if (limit != null) {
+            stats.setMaxConcurrent(limit.getMaxConcurrent());
+            stats.setInFlight(limit.getInFlight());
+            stats.setWaiting(limit.getWaiting());
+            stats.setRejected(limit.getRejectedCount());
+        }
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        if (monitor != null) {
+            stats.setDroppedPinnedEvents(monitor.getDroppedCount());
+            stats.setPinnedSites(monitor.getPinnedSites());
+        }
+        return stats;
+    }
+}
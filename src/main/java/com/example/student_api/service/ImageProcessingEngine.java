@@ -0,0 +1,245 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.ImageProcessingStatsDTO;
+import com.example.student_api.exception.ServiceUnavailableException;
+import com.example.student_api.util.ImageInfo;
+import com.example.student_api.util.ImageUtil;
+import com.example.student_api.util.RequestTrace;
+import com.example.student_api.util.Thumbnail;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageWriter;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creates thumbnails on a fixed pool sized to the CPU cores
+ * Resizing is CPU bound, so running it on request threads lets a burst of uploads take every
+ * core at once. Requests instead queue work here and wait for the result; when the queue is full
+ * they fail fast with 503 rather than piling up. Each pool thread reuses its own JPEG writer;
+ * other threads get a writer per thumbnail, so writers never pile up on foreign thread pools.
+ * Time spent in each stage is recorded for /admin/image-processing, and the pool, queue wait and
+ * rejections are also published as metrics.
+ */
+@Component
+public class ImageProcessingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageProcessingEngine.class);
+
+    /**
+     * Stages of thumbnail creation, in order
+     */
+    public enum Stage {
+        QUEUE, HASH, DECODE, SCALE, ENCODE
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final float jpegQuality;
+    private final Duration maxWait;
+    // Only read on the engine's own threads, which live as long as the engine
+    private final ThreadLocal<ImageWriter> jpegWriters = ThreadLocal.withInitial(ImageUtil::newJpegWriter);
+    private final LongAdder[] stageCounts = new LongAdder[Stage.values().length];
+    private final LongAdder[] stageNanos = new LongAdder[Stage.values().length];
+    private final LongAccumulator[] stageMaxNanos = new LongAccumulator[Stage.values().length];
+    private final LongAdder rejectedCount = new LongAdder();
+    private final Timer queueTimer;
+
+    @Autowired
+    public ImageProcessingEngine(MeterRegistry meterRegistry,
+                                 @Value("${student.image.threads:0}") int threads,
+                                 @Value("${student.image.queue-capacity:64}") int queueCapacity,
+                                 @Value("${student.image.jpeg-quality:0.85}") float jpegQuality,
+                                 @Value("${student.image.max-wait:30s}") Duration maxWait) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.jpegQuality = jpegQuality;
+        this.maxWait = maxWait;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("image-", 1).daemon(true).factory());
+        for (int i = 0; i < stageCounts.length; i++) {
+            stageCounts[i] = new LongAdder();
+            stageNanos[i] = new LongAdder();
+            stageMaxNanos[i] = new LongAccumulator(Math::max, 0);
+        }
+
+        new ExecutorServiceMetrics(executor, "image", Tags.empty()).bindTo(meterRegistry);
+        this.queueTimer = Timer.builder("student.image.queue.wait")
+                .description("Time thumbnails wait for an image pool thread")
+                .register(meterRegistry);
+        FunctionCounter.builder("student.image.rejected", rejectedCount, LongAdder::sum)
+                .description("Thumbnails rejected because the image pool queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create a thumbnail on the image pool and wait for it
+     *
+     * @param photo Original photo bytes
+     * @return Thumbnail, the original bytes if they cannot be decoded, or null if input is null or empty
+     * @throws ServiceUnavailableException if the pool is saturated or the thumbnail is not ready in time
+     */
+    public Thumbnail createThumbnail(byte[] photo) {
+        if (photo == null || photo.length == 0) {
+            return null;
+        }
+        long queuedAt = System.nanoTime();
+        Future<Thumbnail> future;
+        try {
+            future = executor.submit(() -> {
+                queueTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                record(Stage.QUEUE, queuedAt);
+                return process(photo, true);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new ServiceUnavailableException("Too many photos are being processed, please try again later");
+        }
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Photo processing timed out, please try again later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Photo processing was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Photo processing failed", e.getCause());
+        } finally {
+            // The work ran on a pool thread, so the request's image time is the time it waited
+            RequestTrace.recordImage(System.nanoTime() - queuedAt);
+        }
+    }
+
+    /**
+     * Create a thumbnail on the calling thread
+     * For callers that already run on a bounded pool of their own, such as import workers and
+     * the thumbnail backfill, so their work is not rejected when the image pool is busy.
+     * The JPEG writer is created and disposed per call rather than cached on the caller's thread.
+     *
+     * @param photo Original photo bytes
+     * @return Thumbnail, the original bytes if they cannot be decoded, or null if input is null or empty
+     */
+    public Thumbnail createThumbnailInCurrentThread(byte[] photo) {
+        if (photo == null || photo.length == 0) {
+            return null;
+        }
+        return process(photo, false);
+    }
+
+    /**
+     * Get pool state and stage timings
+     *
+     * @return Statistics since the application started
+     */
+    public ImageProcessingStatsDTO getStats() {
+        List<ImageProcessingStatsDTO.StageTiming> stages = new ArrayList<>(Stage.values().length);
+        for (Stage stage : Stage.values()) {
+            long count = stageCounts[stage.ordinal()].sum();
+            long totalNanos = stageNanos[stage.ordinal()].sum();
+            stages.add(new ImageProcessingStatsDTO.StageTiming(stage.name().toLowerCase(), count,
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos),
+                    count > 0 ? totalNanos / 1_000_000.0 / count : 0.0,
+                    TimeUnit.NANOSECONDS.toMillis(stageMaxNanos[stage.ordinal()].get())));
+        }
+        return new ImageProcessingStatsDTO(executor.getMaximumPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), queueCapacity, executor.getCompletedTaskCount(),
+                rejectedCount.sum(), stages);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param photo Original photo bytes
+     * @param poolThread Whether this runs on an image pool thread, which may keep its JPEG writer
+     */
+    private Thumbnail process(byte[] photo, boolean poolThread) {
+        long start = System.nanoTime();
+        String contentHash = ImageUtil.sha256Hex(photo);
+        start = record(Stage.HASH, start);
+        try {
+            ImageInfo imageInfo = ImageUtil.readImageInfo(new ByteArrayInputStream(photo));
+            if (imageInfo == null) {
+                logger.warn("Could not read image for thumbnail, storing original bytes");
+                return new Thumbnail(photo, 0, 0, contentHash);
+            }
+            // Keep the original if it already fits within the thumbnail dimensions
+            if (ImageUtil.fitsThumbnail(imageInfo)) {
+                return new Thumbnail(photo, imageInfo.getWidth(), imageInfo.getHeight(), contentHash);
+            }
+
+            BufferedImage decodedImage = ImageUtil.readSubsampled(photo, ImageUtil.thumbnailSubsampling(imageInfo));
+            start = record(Stage.DECODE, start);
+            if (decodedImage == null) {
+                logger.warn("Could not read image for thumbnail, storing original bytes");
+                return new Thumbnail(photo, 0, 0, contentHash);
+            }
+            BufferedImage resizedImage = ImageUtil.scaleToFit(decodedImage);
+            start = record(Stage.SCALE, start);
+            byte[] data = poolThread
+                    ? ImageUtil.writeJpeg(resizedImage, jpegWriters.get(), jpegQuality)
+                    : writeJpegWithNewWriter(resizedImage);
+            record(Stage.ENCODE, start);
+            return new Thumbnail(data, resizedImage.getWidth(), resizedImage.getHeight(), contentHash);
+        } catch (IOException e) {
+            logger.error("Error creating thumbnail, storing original bytes", e);
+            return new Thumbnail(photo, 0, 0, contentHash);
+        }
+    }
+
+    private byte[] writeJpegWithNewWriter(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageUtil.newJpegWriter();
+        try {
+            return ImageUtil.writeJpeg(image, writer, jpegQuality);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Record the time spent in a stage
+     *
+     * @param stage Finished stage
+     * @param start When the stage started, from System.nanoTime()
+     * @return Current time, which is when the next stage starts
+     */
+    private long record(Stage stage, long start) {
+        long now = System.nanoTime();
+        long elapsed = now - start;
+        stageCounts[stage.ordinal()].increment();
+        stageNanos[stage.ordinal()].add(elapsed);
+        stageMaxNanos[stage.ordinal()].accumulate(elapsed);
+        return now;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.ExportFormat;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State of a background student import
+ * Counters are updated by the import threads and may be read at any time while the job runs
+ */
+public class ImportJob {
+
+    /**
+     * Lifecycle of an import job
+     */
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final String fileName;
+    private final ExportFormat format;
+    private final Path inputFile;
+    private final Path photosFile;
+    private final Path errorReport;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String message;
+
+    public ImportJob(String id, String fileName, ExportFormat format, Path inputFile, Path photosFile,
+                     Path errorReport) {
+        this.id = id;
+        this.fileName = fileName;
+        this.format = format;
+        this.inputFile = inputFile;
+        this.photosFile = photosFile;
+        this.errorReport = errorReport;
+    }
+
+    void markRunning() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void markCompleted() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(String message) {
+        this.message = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public Path getInputFile() {
+        return inputFile;
+    }
+
+    public Path getPhotosFile() {
+        return photosFile;
+    }
+
+    public Path getErrorReport() {
+        return errorReport;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public AtomicLong getRowsRead() {
+        return rowsRead;
+    }
+
+    public AtomicLong getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    public AtomicLong getRowsImported() {
+        return rowsImported;
+    }
+
+    public AtomicLong getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
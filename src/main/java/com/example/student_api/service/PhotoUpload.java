@@ -0,0 +1,13 @@
+package com.example.student_api.service;
+
+import com.example.student_api.util.Thumbnail;
+
+/**
+ * Photo bytes with the thumbnail created from them
+ * Prepared before the transaction that stores them, so no connection is held while resizing
+ *
+ * @param photo Original photo bytes
+ * @param thumbnail Thumbnail created from the photo
+ */
+public record PhotoUpload(byte[] photo, Thumbnail thumbnail) {
+}
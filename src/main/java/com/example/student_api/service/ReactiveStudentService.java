@@ -0,0 +1,369 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.PageResponse;
+import com.example.student_api.dto.PhotoContent;
+import com.example.student_api.dto.PhotoMode;
+import com.example.student_api.dto.PhotoSize;
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.exception.ResourceNotFoundException;
+import com.example.student_api.exception.ValidationException;
+import com.example.student_api.model.StudentRow;
+import com.example.student_api.model.StudentThumbnail;
+import com.example.student_api.repository.ReactiveStudentPhotoRepository;
+import com.example.student_api.repository.ReactiveStudentRepository;
+import com.example.student_api.search.StudentNameIndex;
+import com.example.student_api.util.ImageUtil;
+import com.example.student_api.util.Thumbnail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of StudentService for the reactive profile
+ * Lists and searches are read in ID batches and emitted as they arrive, so callers can stream
+ * them without holding every student in memory. Thumbnails are created on the image processing
+ * pool and never on an event loop thread.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveStudentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveStudentService.class);
+    private static final int BATCH_SIZE = 100;
+    // H2 syntax; the reactive profile runs against H2
+    private static final String NEXT_ID_SQL = "SELECT NEXT VALUE FOR student_seq";
+
+    private final ReactiveStudentRepository studentRepository;
+    private final ReactiveStudentPhotoRepository studentPhotoRepository;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final StudentNameIndex studentNameIndex;
+    private final ImageProcessingEngine imageProcessingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ReactiveStudentService(ReactiveStudentRepository studentRepository,
+                                  ReactiveStudentPhotoRepository studentPhotoRepository,
+                                  R2dbcEntityTemplate entityTemplate,
+                                  DatabaseClient databaseClient,
+                                  TransactionalOperator transactionalOperator,
+                                  StudentNameIndex studentNameIndex,
+                                  ImageProcessingEngine imageProcessingEngine,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.studentRepository = studentRepository;
+        this.studentPhotoRepository = studentPhotoRepository;
+        this.entityTemplate = entityTemplate;
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.studentNameIndex = studentNameIndex;
+        this.imageProcessingEngine = imageProcessingEngine;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Stream all students ordered by ID
+     *
+     * @param photoMode How photos are represented in the result
+     * @return Students with photos inlined as Base64 or linked by URL
+     */
+    public Flux<StudentDTO> getAllStudents(PhotoMode photoMode) {
+        logger.debug("Streaming all students");
+        return toDTOs(studentRepository.findAll(Sort.by("id")), photoMode);
+    }
+
+    /**
+     * Get paginated students
+     *
+     * @param pageable Pagination information
+     * @param photoMode How photos are represented in the result
+     * @return Page of students with photos inlined as Base64 or linked by URL
+     */
+    public Mono<PageResponse<StudentDTO>> getAllStudentsPaginated(Pageable pageable, PhotoMode photoMode) {
+        logger.debug("Getting paginated students: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
+        return toPage(toDTOs(studentRepository.findAllBy(pageable), photoMode), studentRepository.count(), pageable);
+    }
+
+    /**
+     * Get student by ID
+     *
+     * @param id Student ID
+     * @param photoMode How the photo is represented in the result
+     * @return Student with photo inlined as Base64 or linked by URL
+     * @throws ResourceNotFoundException if student not found
+     */
+    public Mono<StudentDTO> getStudentById(Long id, PhotoMode photoMode) {
+        logger.debug("Getting student by ID: {}", id);
+        return findExisting(id).flatMap(student -> toDTOs(Flux.just(student), photoMode).single());
+    }
+
+    /**
+     * Stream students by name
+     * Uses the in-memory name index when available, ranking best matches first and
+     * including fuzzy matches; otherwise falls back to a database LIKE query
+     *
+     * @param name Name to search for
+     * @param photoMode How photos are represented in the result
+     * @return Matching students with photos inlined as Base64 or linked by URL
+     */
+    public Flux<StudentDTO> getStudentsByName(String name, PhotoMode photoMode) {
+        logger.debug("Searching students by name: {}", name);
+        if (studentNameIndex.isAvailable()) {
+            return toDTOs(findAllInOrder(studentNameIndex.search(name)), photoMode);
+        }
+        return toDTOs(studentRepository.findByNameContainingIgnoreCaseOrderById(name), photoMode);
+    }
+
+    /**
+     * Get paginated students by name
+     *
+     * @param name Name to search for
+     * @param pageable Pagination information
+     * @param photoMode How photos are represented in the result
+     * @return Page of matching students with photos inlined as Base64 or linked by URL
+     */
+    public Mono<PageResponse<StudentDTO>> getStudentsByNamePaginated(String name, Pageable pageable,
+                                                                     PhotoMode photoMode) {
+        logger.debug("Searching paginated students by name: {}, page={}, size={}",
+                name, pageable.getPageNumber(), pageable.getPageSize());
+        if (studentNameIndex.isAvailable()) {
+            List<Long> ids = studentNameIndex.search(name);
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            int to = Math.min(from + pageable.getPageSize(), ids.size());
+            return toPage(toDTOs(findAllInOrder(ids.subList(from, to)), photoMode),
+                    Mono.just((long) ids.size()), pageable);
+        }
+        return toPage(toDTOs(studentRepository.findByNameContainingIgnoreCase(name, pageable), photoMode),
+                studentRepository.countByNameContainingIgnoreCase(name), pageable);
+    }
+
+    /**
+     * Save a new student
+     *
+     * @param studentDTO Student data to save
+     * @return Saved student with its thumbnail inlined
+     * @throws ValidationException if validation fails
+     */
+    public Mono<StudentDTO> saveStudent(StudentDTO studentDTO) {
+        logger.debug("Saving new student: {}", studentDTO != null ? studentDTO.getName() : null);
+        return Mono.fromRunnable(() -> StudentService.validateStudent(studentDTO))
+                .then(Mono.defer(() -> createThumbnail(studentDTO)))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(photo -> databaseClient.sql(NEXT_ID_SQL)
+                        .map(row -> row.get(0, Long.class))
+                        .one()
+                        .flatMap(id -> entityTemplate.insert(new StudentRow(id, studentDTO.getName(),
+                                studentDTO.getBirthDate(), studentDTO.getMobileNo())))
+                        .flatMap(student -> savePhoto(student.getId(), photo).thenReturn(student))
+                        .as(transactionalOperator::transactional)
+                        .map(student -> toInlineDTO(student, photo.map(PhotoUpload::thumbnail).orElse(null))))
+                .doOnNext(saved -> {
+                    eventPublisher.publishEvent(StudentChangedEvent.created(saved.getId(), saved.getName()));
+                    logger.info("Student saved successfully with ID: {}", saved.getId());
+                });
+    }
+
+    /**
+     * Update an existing student
+     *
+     * @param id Student ID to update
+     * @param studentDTO Updated student data
+     * @return Updated student with its thumbnail inlined
+     * @throws ResourceNotFoundException if student not found
+     * @throws ValidationException if validation fails
+     */
+    public Mono<StudentDTO> updateStudent(Long id, StudentDTO studentDTO) {
+        logger.debug("Updating student with ID: {}", id);
+        return Mono.fromRunnable(() -> StudentService.validateStudent(studentDTO))
+                .then(Mono.defer(() -> createThumbnail(studentDTO)))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(photo -> findExisting(id)
+                        .flatMap(student -> {
+                            student.setName(studentDTO.getName());
+                            student.setBirthDate(studentDTO.getBirthDate());
+                            student.setMobileNo(studentDTO.getMobileNo());
+                            return studentRepository.save(student);
+                        })
+                        .flatMap(student -> {
+                            // Keep the current photo unless a new one is provided
+                            Mono<StudentThumbnail> thumbnail = photo.isPresent()
+                                    ? savePhoto(id, photo).then(Mono.just(toStudentThumbnail(id, photo.get().thumbnail())))
+                                    : studentPhotoRepository.findThumbnail(id);
+                            return thumbnail.map(Optional::of)
+                                    .defaultIfEmpty(Optional.empty())
+                                    .map(stored -> toInlineDTO(student, stored.orElse(null)));
+                        })
+                        .as(transactionalOperator::transactional))
+                .doOnNext(updated -> {
+                    eventPublisher.publishEvent(StudentChangedEvent.updated(id, updated.getName()));
+                    logger.info("Student updated successfully with ID: {}", id);
+                });
+    }
+
+    /**
+     * Delete a student by ID
+     *
+     * @param id Student ID to delete
+     * @return Completes when the student and its photo are deleted
+     * @throws ResourceNotFoundException if student not found
+     */
+    public Mono<Void> deleteStudent(Long id) {
+        logger.debug("Deleting student with ID: {}", id);
+        return findExisting(id)
+                .flatMap(student -> studentPhotoRepository.deletePhoto(id).then(studentRepository.deleteById(id)))
+                .as(transactionalOperator::transactional)
+                .then(Mono.fromRunnable(() -> {
+                    eventPublisher.publishEvent(StudentChangedEvent.deleted(id));
+                    logger.info("Student deleted successfully with ID: {}", id);
+                }));
+    }
+
+    /**
+     * Get the content hash of a student's photo without loading any image bytes
+     *
+     * @param studentId Student ID
+     * @return SHA-256 hash of the original photo
+     * @throws ResourceNotFoundException if the student has no photo
+     */
+    public Mono<String> getContentHash(Long studentId) {
+        return studentPhotoRepository.findContentHash(studentId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Photo", "studentId", studentId)));
+    }
+
+    /**
+     * Get the raw bytes of a student's photo
+     *
+     * @param studentId Student ID
+     * @param size Thumbnail or original photo
+     * @return Photo bytes with content type and hash
+     * @throws ResourceNotFoundException if the student has no photo
+     */
+    public Mono<PhotoContent> getPhoto(Long studentId, PhotoSize size) {
+        Mono<PhotoContent> photo = size == PhotoSize.FULL
+                ? getContentHash(studentId).flatMap(contentHash -> studentPhotoRepository.findPhotoData(studentId)
+                        .map(data -> new PhotoContent(data, ImageUtil.detectContentType(data), contentHash)))
+                : studentPhotoRepository.findThumbnail(studentId)
+                        .map(thumbnail -> new PhotoContent(thumbnail.getData(),
+                                ImageUtil.detectContentType(thumbnail.getData()), thumbnail.getContentHash()));
+        return photo.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Photo", "studentId", studentId)));
+    }
+
+    private Mono<StudentRow> findExisting(Long id) {
+        return studentRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Student", "id", id)));
+    }
+
+    /**
+     * Resize the photo sent with a student, off the event loop
+     *
+     * @param studentDTO Student data
+     * @return Photo and thumbnail, or empty if no photo was sent
+     */
+    private Mono<PhotoUpload> createThumbnail(StudentDTO studentDTO) {
+        byte[] photo = studentDTO.getPhotoBase64();
+        if (photo == null || photo.length == 0) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> new PhotoUpload(photo, imageProcessingEngine.createThumbnail(photo)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Void> savePhoto(Long studentId, Optional<PhotoUpload> photo) {
+        return photo.map(upload -> studentPhotoRepository.savePhoto(studentId, upload.photo(), upload.thumbnail()))
+                .orElse(Mono.empty());
+    }
+
+    /**
+     * Load students by ID in batches, preserving the order of the given IDs
+     * IDs deleted meanwhile are skipped
+     *
+     * @param ids Student IDs in the desired order
+     * @return Students in the same order
+     */
+    private Flux<StudentRow> findAllInOrder(List<Long> ids) {
+        return Flux.fromIterable(ids)
+                .buffer(BATCH_SIZE)
+                .concatMap(batch -> studentRepository.findAllById(batch)
+                        .collectMap(StudentRow::getId, Function.identity())
+                        .flatMapIterable(studentsById -> batch.stream()
+                                .map(studentsById::get)
+                                .filter(student -> student != null)
+                                .collect(Collectors.toList())));
+    }
+
+    /**
+     * Convert students to DTOs in batches, loading each batch's photo data with a single query
+     * URL mode only reads content hashes, so no image bytes are fetched
+     *
+     * @param students Students in result order
+     * @param photoMode How photos are represented in the result
+     * @return Student DTOs in the same order
+     */
+    private Flux<StudentDTO> toDTOs(Flux<StudentRow> students, PhotoMode photoMode) {
+        return students.buffer(BATCH_SIZE).concatMap(batch -> {
+            List<Long> ids = batch.stream().map(StudentRow::getId).collect(Collectors.toList());
+            if (photoMode == PhotoMode.URL) {
+                return studentPhotoRepository.findContentHashes(ids)
+                        .flatMapIterable(contentHashes -> batch.stream()
+                                .map(student -> toUrlDTO(student, contentHashes.get(student.getId())))
+                                .collect(Collectors.toList()));
+            }
+            return studentPhotoRepository.findThumbnails(ids)
+                    .collectMap(StudentThumbnail::getStudentId, Function.identity())
+                    .flatMapIterable(thumbnails -> batch.stream()
+                            .map(student -> toInlineDTO(student, thumbnails.get(student.getId())))
+                            .collect(Collectors.toList()));
+        });
+    }
+
+    private static Mono<PageResponse<StudentDTO>> toPage(Flux<StudentDTO> content, Mono<Long> total,
+                                                         Pageable pageable) {
+        return Mono.zip(content.collectList(), total)
+                .map(page -> PageResponse.from(new PageImpl<>(page.getT1(), pageable, page.getT2())));
+    }
+
+    private static StudentDTO toInlineDTO(StudentRow student, StudentThumbnail thumbnail) {
+        StudentDTO studentDTO = new StudentDTO(student.getId(), student.getName(), student.getBirthDate(),
+                student.getMobileNo(), thumbnail != null ? thumbnail.getData() : null);
+        studentDTO.setVersion(student.getVersion());
+        return studentDTO;
+    }
+
+    private static StudentDTO toInlineDTO(StudentRow student, Thumbnail thumbnail) {
+        return toInlineDTO(student, thumbnail != null ? toStudentThumbnail(student.getId(), thumbnail) : null);
+    }
+
+    private static StudentDTO toUrlDTO(StudentRow student, String contentHash) {
+        StudentDTO studentDTO = new StudentDTO(student.getId(), student.getName(), student.getBirthDate(),
+                student.getMobileNo(), null);
+        studentDTO.setVersion(student.getVersion());
+        if (contentHash != null) {
+            studentDTO.setPhotoUrl("/api/students/" + student.getId() + "/photo?size=thumb&v=" + contentHash);
+        }
+        return studentDTO;
+    }
+
+    private static StudentThumbnail toStudentThumbnail(Long studentId, Thumbnail thumbnail) {
+        return new StudentThumbnail(studentId, thumbnail.getData(), thumbnail.getWidth(), thumbnail.getHeight(),
+                thumbnail.getContentHash());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.SlowRequestsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory log of slow API requests
+ * Keeps the most recent entries in a fixed ring; older ones are overwritten, so memory use does
+ * not grow with traffic. Filled by SlowRequestFilter and served at /admin/slow-requests.
+ */
+@Component
+public class SlowRequestLog {
+
+    private final Duration threshold;
+    private final double sampleRate;
+    private final AtomicReferenceArray<SlowRequestsDTO.SlowRequest> entries;
+    private final AtomicLong recordedCount = new AtomicLong();
+    private final LongAdder unsampledCount = new LongAdder();
+
+    @Autowired
+    public SlowRequestLog(@Value("${student.slow-requests.threshold:500ms}") Duration threshold,
+                          @Value("${student.slow-requests.sample-rate:0.1}") double sampleRate,
+                          @Value("${student.slow-requests.capacity:100}") int capacity) {
+        this.threshold = threshold;
+        this.sampleRate = sampleRate;
+        this.entries = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    /**
+     * @return Duration above which a request is logged
+     */
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @return Fraction of requests that are traced in detail
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Store a slow sampled request, replacing the oldest entry when full
+     *
+     * @param slowRequest Request with its stage breakdown
+     */
+    public void record(SlowRequestsDTO.SlowRequest slowRequest) {
+        long index = recordedCount.getAndIncrement();
+        entries.set((int) (index % entries.length()), slowRequest);
+    }
+
+    /**
+     * Count a slow request that was not sampled, so it has no breakdown
+     */
+    public void recordUnsampled() {
+        unsampledCount.increment();
+    }
+
+    /**
+     * Get the logged requests
+     *
+     * @return Settings, counters and the retained requests, newest first
+     */
+    public SlowRequestsDTO getSlowRequests() {
+        long recorded = recordedCount.get();
+        int retained = (int) Math.min(recorded, entries.length());
+        List<SlowRequestsDTO.SlowRequest> requests = new ArrayList<>(retained);
+        for (long index = recorded - 1; index >= recorded - retained; index--) {
+            SlowRequestsDTO.SlowRequest entry = entries.get((int) (index % entries.length()));
+            if (entry != null) {
+                requests.add(entry);
+            }
+        }
+        return new SlowRequestsDTO(threshold.toMillis(), sampleRate, entries.length(), recorded,
+                unsampledCount.sum(), requests);
+    }
+}
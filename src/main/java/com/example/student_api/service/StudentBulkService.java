@@ -0,0 +1,304 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.BulkItemResult;
+import com.example.student_api.dto.BulkResponse;
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.exception.ValidationException;
+import com.example.student_api.model.Student;
+import com.example.student_api.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service for bulk student writes
+ * The whole request is validated before anything is written. Items are then written in chunks,
+ * one transaction per chunk, so Hibernate can send each chunk as JDBC batches. A failed chunk
+ * is rolled back and reported per item without affecting the other chunks. Thumbnails for a chunk
+ * are created before its transaction opens, and its photos are written once per chunk so they batch too.
+ */
+@Service
+public class StudentBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentBulkService.class);
+
+    private final StudentRepository studentRepository;
+    private final StudentPhotoService studentPhotoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxItems;
+
+    @Autowired
+    public StudentBulkService(StudentRepository studentRepository,
+                              StudentPhotoService studentPhotoService,
+                              ApplicationEventPublisher eventPublisher,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${student.bulk.chunk-size:500}") int chunkSize,
+                              @Value("${student.bulk.max-items:10000}") int maxItems) {
+        this.studentRepository = studentRepository;
+        this.studentPhotoService = studentPhotoService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Create students in chunks
+     *
+     * @param students Students to create; IDs are ignored
+     * @return One result per student
+     * @throws ValidationException if any student is invalid, before anything is written
+     */
+    public BulkResponse createStudents(List<StudentDTO> students) {
+        logger.debug("Bulk creating {} students", students != null ? students.size() : 0);
+        validateAll(students, false);
+        List<BulkItemResult> results = new ArrayList<>(students.size());
+        for (int from = 0; from < students.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, students.size());
+            results.addAll(writeChunk(start, end, index -> null, () -> preparePhotos(students, start, end),
+                    photos -> createChunk(students, start, end, photos)));
+        }
+        logger.info("Bulk created {} students", results.size());
+        return new BulkResponse(results);
+    }
+
+    /**
+     * Update students in chunks
+     *
+     * @param students Students to update, identified by ID
+     * @return One result per student
+     * @throws ValidationException if any student is invalid, before anything is written
+     */
+    public BulkResponse updateStudents(List<StudentDTO> students) {
+        logger.debug("Bulk updating {} students", students != null ? students.size() : 0);
+        validateAll(students, true);
+        List<BulkItemResult> results = new ArrayList<>(students.size());
+        for (int from = 0; from < students.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, students.size());
+            results.addAll(writeChunk(start, end, index -> students.get(index).getId(),
+                    () -> preparePhotos(students, start, end), photos -> updateChunk(students, start, end, photos)));
+        }
+        logger.info("Bulk updated {} students", results.size());
+        return new BulkResponse(results);
+    }
+
+    /**
+     * Delete students and their photos in chunks
+     *
+     * @param ids Student IDs
+     * @return One result per ID
+     * @throws ValidationException if the request is empty, too large or contains null IDs
+     */
+    public BulkResponse deleteStudents(List<Long> ids) {
+        logger.debug("Bulk deleting {} students", ids != null ? ids.size() : 0);
+        validateSize(ids);
+        if (ids.contains(null)) {
+            ValidationException validationException = new ValidationException("Validation failed");
+            validationException.addError("ids", "IDs cannot be empty");
+            throw validationException;
+        }
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, ids.size());
+            results.addAll(writeChunk(start, end, ids::get, () -> null, none -> deleteChunk(ids, start, end)));
+        }
+        logger.info("Bulk deleted {} students", results.size());
+        return new BulkResponse(results);
+    }
+
+    private List<BulkItemResult> createChunk(List<StudentDTO> students, int from, int to, List<PhotoUpload> photos) {
+        List<Student> entities = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            Student student = students.get(index).toEntity();
+            student.setId(null);
+            student.setPhotoBase64(null);
+            entities.add(student);
+        }
+        // IDs come from the pooled sequence here; the inserts are batched when the chunk commits
+        studentRepository.saveAll(entities);
+
+        // New students have no photos to replace, so photos are only inserted and batch with the students
+        Map<Long, PhotoUpload> newPhotos = new LinkedHashMap<>();
+        List<BulkItemResult> results = new ArrayList<>(entities.size());
+        for (int index = from; index < to; index++) {
+            Student student = entities.get(index - from);
+            PhotoUpload photo = photos.get(index - from);
+            if (photo != null) {
+                newPhotos.put(student.getId(), photo);
+            }
+            eventPublisher.publishEvent(StudentChangedEvent.created(student.getId(), student.getName()));
+            results.add(new BulkItemResult(index, student.getId(), BulkItemResult.Status.CREATED, null));
+        }
+        studentPhotoService.insertPhotos(newPhotos);
+        return results;
+    }
+
+    private List<BulkItemResult> updateChunk(List<StudentDTO> students, int from, int to, List<PhotoUpload> photos) {
+        List<Long> ids = students.subList(from, to).stream().map(StudentDTO::getId).collect(Collectors.toList());
+        Map<Long, Student> existing = studentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+
+        Map<Long, PhotoUpload> replacedPhotos = new LinkedHashMap<>();
+        List<BulkItemResult> results = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            StudentDTO studentDTO = students.get(index);
+            Student student = existing.get(studentDTO.getId());
+            if (student == null) {
+                results.add(new BulkItemResult(index, studentDTO.getId(), BulkItemResult.Status.NOT_FOUND,
+                        "Student not found"));
+                continue;
+            }
+            // Changes are flushed by dirty checking as batched updates when the chunk commits
+            List<Object> before = StudentService.rowState(student);
+            student.setName(studentDTO.getName());
+            student.setBirthDate(studentDTO.getBirthDate());
+            student.setMobileNo(studentDTO.getMobileNo());
+            PhotoUpload photo = photos.get(index - from);
+            if (photo != null) {
+                replacedPhotos.put(student.getId(), photo);
+                // The photo is stored outside the student row; bump the version so its ETag changes,
+                // unless a changed column already does
+                if (before.equals(StudentService.rowState(student))) {
+                    entityManager.lock(student, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+                }
+            }
+            eventPublisher.publishEvent(StudentChangedEvent.updated(student.getId(), student.getName()));
+            results.add(new BulkItemResult(index, student.getId(), BulkItemResult.Status.UPDATED, null));
+        }
+        // One delete per photo table for the whole chunk, then batched inserts
+        studentPhotoService.replacePhotos(replacedPhotos);
+        return results;
+    }
+
+    private List<BulkItemResult> deleteChunk(List<Long> ids, int from, int to) {
+        List<Long> chunkIds = ids.subList(from, to);
+        Set<Long> existing = studentRepository.findAllById(chunkIds).stream()
+                .map(Student::getId)
+                .collect(Collectors.toSet());
+        if (!existing.isEmpty()) {
+            studentPhotoService.deletePhotos(existing);
+            studentRepository.deleteAllByIdInBatch(existing);
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(chunkIds.size());
+        for (int index = from; index < to; index++) {
+            Long id = ids.get(index);
+            if (existing.contains(id)) {
+                eventPublisher.publishEvent(StudentChangedEvent.deleted(id));
+                results.add(new BulkItemResult(index, id, BulkItemResult.Status.DELETED, null));
+            } else {
+                results.add(new BulkItemResult(index, id, BulkItemResult.Status.NOT_FOUND, "Student not found"));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Prepare one chunk, then write it in its own transaction
+     * If either step fails the chunk is rolled back and every item in it is reported as failed
+     *
+     * @param from First index of the chunk
+     * @param to Index after the last item of the chunk
+     * @param idAt ID of the item at an index, if known
+     * @param prepare Work done before the transaction opens, such as creating thumbnails
+     * @param chunk Writes the chunk from the prepared input and returns its results
+     * @return Results for the chunk
+     */
+    private <T> List<BulkItemResult> writeChunk(int from, int to, IntFunction<Long> idAt, Supplier<T> prepare,
+                                                Function<T, List<BulkItemResult>> chunk) {
+        try {
+            T prepared = prepare.get();
+            return transactionTemplate.execute(status -> chunk.apply(prepared));
+        } catch (RuntimeException e) {
+            logger.warn("Bulk chunk [{}, {}) failed", from, to, e);
+            List<BulkItemResult> results = new ArrayList<>(to - from);
+            for (int index = from; index < to; index++) {
+                results.add(new BulkItemResult(index, idAt.apply(index), BulkItemResult.Status.FAILED,
+                        "Chunk rolled back: " + e.getMessage()));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Create the thumbnails of a chunk's photos
+     *
+     * @return Prepared photo per item of the chunk, null for items without one
+     */
+    private List<PhotoUpload> preparePhotos(List<StudentDTO> students, int from, int to) {
+        List<PhotoUpload> photos = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            photos.add(studentPhotoService.preparePhoto(students.get(index).getPhotoBase64()));
+        }
+        return photos;
+    }
+
+    /**
+     * Validate every student before anything is written
+     * Field errors are keyed by the item's index, e.g. [3].name
+     *
+     * @param students Students to validate
+     * @param requireId Whether every student must carry an ID
+     * @throws ValidationException if any student is invalid
+     */
+    private void validateAll(List<StudentDTO> students, boolean requireId) {
+        validateSize(students);
+        ValidationException validationException = new ValidationException("Validation failed");
+        for (int index = 0; index < students.size(); index++) {
+            StudentDTO studentDTO = students.get(index);
+            String prefix = "[" + index + "]";
+            try {
+                StudentService.validateStudent(studentDTO);
+            } catch (ValidationException e) {
+                if (e.getErrors().isEmpty()) {
+                    validationException.addError(prefix, e.getMessage());
+                }
+                e.getErrors().forEach((field, message) -> validationException.addError(prefix + "." + field, message));
+            }
+            if (requireId && studentDTO != null && studentDTO.getId() == null) {
+                validationException.addError(prefix + ".id", "ID cannot be empty");
+            }
+        }
+        if (!validationException.getErrors().isEmpty()) {
+            throw validationException;
+        }
+    }
+
+    private void validateSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            ValidationException validationException = new ValidationException("Validation failed");
+            validationException.addError("items", "At least one item is required");
+            throw validationException;
+        }
+        if (items.size() > maxItems) {
+            ValidationException validationException = new ValidationException("Validation failed");
+            validationException.addError("items", "At most " + maxItems + " items are allowed per request");
+            throw validationException;
+        }
+    }
+}
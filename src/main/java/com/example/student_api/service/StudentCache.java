@@ -0,0 +1,76 @@
+package com.example.student_api.service;
+
+import com.example.student_api.config.CacheConfig;
+import com.example.student_api.dto.StudentDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Read-through cache of students by ID
+ * Holds DTOs with both the Base64 thumbnail and the photo URL so one entry serves every photo mode.
+ * Entries are evicted after the transaction that changed the student commits; the TTL bounds
+ * staleness for writes made by other application instances.
+ */
+@Component
+public class StudentCache {
+
+    private final Cache cache;
+
+    @Autowired
+    public StudentCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.STUDENTS_CACHE);
+    }
+
+    /**
+     * Get a cached student, loading it on a miss
+     * Concurrent misses for the same ID share a single load
+     *
+     * @param id Student ID
+     * @param loader Loads the student from the database
+     * @return Cached student; callers must copy it before changing it
+     */
+    public StudentDTO get(Long id, Callable<StudentDTO> loader) {
+        try {
+            return cache.get(id, loader);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Get a cached student without loading it
+     *
+     * @param id Student ID
+     * @return Cached student, or null on a miss; callers must copy it before changing it
+     */
+    public StudentDTO getIfPresent(Long id) {
+        Cache.ValueWrapper cached = cache.get(id);
+        return cached != null ? (StudentDTO) cached.get() : null;
+    }
+
+    /**
+     * Evict a student after the change to it has been committed
+     *
+     * @param event Student change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        evict(event.getStudentId());
+    }
+
+    public void evict(Long id) {
+        cache.evict(id);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
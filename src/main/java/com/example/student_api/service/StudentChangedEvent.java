@@ -0,0 +1,48 @@
+package com.example.student_api.service;
+
+/**
+ * Event published by StudentService when a student is created, updated or deleted
+ * Listeners use it to keep in-memory structures in sync with the database after commit
+ */
+public class StudentChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long studentId;
+    private final String name;
+
+    public StudentChangedEvent(Type type, Long studentId, String name) {
+        this.type = type;
+        this.studentId = studentId;
+        this.name = name;
+    }
+
+    public static StudentChangedEvent created(Long studentId, String name) {
+        return new StudentChangedEvent(Type.CREATED, studentId, name);
+    }
+
+    public static StudentChangedEvent updated(Long studentId, String name) {
+        return new StudentChangedEvent(Type.UPDATED, studentId, name);
+    }
+
+    public static StudentChangedEvent deleted(Long studentId) {
+        return new StudentChangedEvent(Type.DELETED, studentId, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.ExportFormat;
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.model.Student;
+import com.example.student_api.model.StudentThumbnail;
+import com.example.student_api.repository.StudentRepository;
+import com.example.student_api.util.CsvUtil;
+import com.example.student_api.util.ImageUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service for exporting all students as a stream
+ * Rows are read through a database cursor and written in chunks; each chunk is detached from the
+ * persistence context once written, so memory use does not grow with the number of students.
+ */
+@Service
+public class StudentExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentExportService.class);
+    private static final int CHUNK_SIZE = 500;
+
+    private final StudentRepository studentRepository;
+    private final StudentPhotoService studentPhotoService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public StudentExportService(StudentRepository studentRepository,
+                                StudentPhotoService studentPhotoService,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper) {
+        this.studentRepository = studentRepository;
+        this.studentPhotoService = studentPhotoService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write every student to the output in ID order
+     *
+     * @param format Export format
+     * @param includePhotos Whether to include thumbnails as Base64
+     * @param outputStream Destination, left open
+     * @return Number of students written
+     * @throws IOException If writing to the output fails
+     */
+    @Transactional(readOnly = true)
+    public long exportStudents(ExportFormat format, boolean includePhotos, OutputStream outputStream)
+            throws IOException {
+        logger.debug("Exporting students: format={}, includePhotos={}", format, includePhotos);
+        RowWriter rowWriter = format == ExportFormat.CSV
+                ? new CsvRowWriter(outputStream, includePhotos)
+                : new NdjsonRowWriter(outputStream);
+        long count = 0;
+        try (Stream<Student> students = studentRepository.streamAllOrderById()) {
+            Iterator<Student> iterator = students.iterator();
+            List<Student> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(chunk, includePhotos, rowWriter);
+                    count += chunk.size();
+                    chunk.clear();
+                    // Nothing is modified, so detaching loaded rows is all it takes to release them
+                    entityManager.clear();
+                    rowWriter.flush();
+                }
+            }
+        }
+        rowWriter.finish();
+        logger.info("Exported {} students as {}", count, format);
+        return count;
+    }
+
+    private void writeChunk(List<Student> chunk, boolean includePhotos, RowWriter rowWriter) throws IOException {
+        Map<Long, StudentThumbnail> thumbnails = includePhotos
+                ? studentPhotoService.getThumbnails(chunk.stream().map(Student::getId).collect(Collectors.toList()))
+                : Collections.emptyMap();
+        for (Student student : chunk) {
+            StudentThumbnail thumbnail = thumbnails.get(student.getId());
+            rowWriter.write(new StudentDTO(student.getId(), student.getName(), student.getBirthDate(),
+                    student.getMobileNo(), thumbnail != null ? thumbnail.getData() : null));
+        }
+    }
+
+    /**
+     * Writes students in one export format
+     */
+    private interface RowWriter {
+        void write(StudentDTO student) throws IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One JSON object per line
+     */
+    private class NdjsonRowWriter implements RowWriter {
+        private final OutputStream outputStream;
+        private final SequenceWriter sequenceWriter;
+        private boolean empty = true;
+
+        NdjsonRowWriter(OutputStream outputStream) throws IOException {
+            this.outputStream = outputStream;
+            this.sequenceWriter = objectMapper.writerFor(StudentDTO.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream);
+        }
+
+        @Override
+        public void write(StudentDTO student) throws IOException {
+            sequenceWriter.write(student);
+            empty = false;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            sequenceWriter.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            sequenceWriter.close();
+            // The separator only goes between rows; terminate the last line too
+            if (!empty) {
+                outputStream.write('\n');
+            }
+            outputStream.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row
+     */
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final boolean includePhotos;
+
+        CsvRowWriter(OutputStream outputStream, boolean includePhotos) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.includePhotos = includePhotos;
+            writer.write(includePhotos ? "id,name,birthDate,mobileNo,photoBase64" : "id,name,birthDate,mobileNo");
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(StudentDTO student) throws IOException {
+            writer.write(String.valueOf(student.getId()));
+            writer.write(',');
+            writer.write(CsvUtil.escape(student.getName()));
+            writer.write(',');
+            writer.write(student.getBirthDate() != null ? student.getBirthDate().toString() : "");
+            writer.write(',');
+            writer.write(CsvUtil.escape(student.getMobileNo()));
+            if (includePhotos) {
+                writer.write(',');
+                writer.write(student.getPhotoBase64() != null ? ImageUtil.thumbnailToBase64(student.getPhotoBase64()) : "");
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.student_api.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the student ID sequence past existing IDs on startup
+ * Students created before IDs came from student_seq were numbered by AUTO_INCREMENT, so a fresh
+ * sequence would hand out IDs that are already taken. Runs before the web server accepts requests.
+ * On databases without sequences Hibernate emulates student_seq with a single-row table. Hibernate
+ * only creates it with ddl-auto; other databases need the upgrade step in the README first.
+ * Hibernate treats each value it reads as the top of a block of ALLOCATION_SIZE IDs, so the
+ * sequence is moved to at least the highest ID plus the block size.
+ */
+@Component
+public class StudentIdSequenceAligner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentIdSequenceAligner.class);
+    private static final String SEQUENCE_NAME = "student_seq";
+    // Must match the allocationSize of the student_seq generator on Student
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    @Autowired
+    public StudentIdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @PostConstruct
+    void align() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM students", Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+        long safeNext = maxId + ALLOCATION_SIZE;
+        SequenceSupport sequenceSupport = dialect.getSequenceSupport();
+        if (sequenceSupport.supportsSequences()) {
+            // Consumes one value, which only leaves a gap
+            Long next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(SEQUENCE_NAME), Long.class);
+            if (next != null && next < safeNext) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE_NAME + " RESTART WITH " + safeNext);
+                logger.info("Restarted {} at {}", SEQUENCE_NAME, safeNext);
+            }
+        } else {
+            int updated = jdbcTemplate.update("UPDATE " + SEQUENCE_NAME + " SET next_val = ? WHERE next_val < ?",
+                    safeNext, safeNext);
+            if (updated > 0) {
+                logger.info("Moved {} to {}", SEQUENCE_NAME, safeNext);
+            }
+        }
+    }
+}
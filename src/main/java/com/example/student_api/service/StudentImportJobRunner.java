@@ -0,0 +1,559 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.ExportFormat;
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.exception.ValidationException;
+import com.example.student_api.model.Student;
+import com.example.student_api.repository.StudentRepository;
+import com.example.student_api.util.CsvReader;
+import com.example.student_api.util.CsvUtil;
+import com.example.student_api.util.ImageUtil;
+import com.example.student_api.util.Thumbnail;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Runs one import job as a three stage pipeline
+ * A reader thread parses the file into batches of rows. The shared worker pool validates each
+ * batch and creates thumbnails in parallel. The job thread writes prepared rows in chunks, one
+ * transaction per chunk. A semaphore bounds the number of batches in flight, so memory use does
+ * not depend on the file size.
+ */
+class StudentImportJobRunner implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentImportJobRunner.class);
+    private static final int BATCH_SIZE = 50;
+    private static final long POLL_MILLIS = 100;
+
+    private final ImportJob job;
+    private final StudentRepository studentRepository;
+    private final StudentPhotoService studentPhotoService;
+    private final ImageProcessingEngine imageProcessingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService workerExecutor;
+    private final int maxBatchesInFlight;
+    private final int chunkSize;
+    private final long maxPhotoBytes;
+
+    private volatile boolean stopped;
+
+    StudentImportJobRunner(ImportJob job,
+                           StudentRepository studentRepository,
+                           StudentPhotoService studentPhotoService,
+                           ImageProcessingEngine imageProcessingEngine,
+                           ApplicationEventPublisher eventPublisher,
+                           TransactionTemplate transactionTemplate,
+                           ObjectMapper objectMapper,
+                           ExecutorService workerExecutor,
+                           int maxBatchesInFlight,
+                           int chunkSize,
+                           long maxPhotoBytes) {
+        this.job = job;
+        this.studentRepository = studentRepository;
+        this.studentPhotoService = studentPhotoService;
+        this.imageProcessingEngine = imageProcessingEngine;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.workerExecutor = workerExecutor;
+        this.maxBatchesInFlight = maxBatchesInFlight;
+        this.chunkSize = chunkSize;
+        this.maxPhotoBytes = maxPhotoBytes;
+    }
+
+    @Override
+    public void run() {
+        job.markRunning();
+        logger.info("Import job {} started: {}", job.getId(), job.getFileName());
+        // The status is only set once the error report is closed, as finished jobs serve it for download
+        String failure;
+        try (ZipFile photos = job.getPhotosFile() != null ? new ZipFile(job.getPhotosFile().toFile()) : null;
+             ErrorReport errorReport = new ErrorReport(job.getErrorReport())) {
+            failure = runPipeline(photos, errorReport);
+        } catch (IOException e) {
+            logger.error("Import job {} failed", job.getId(), e);
+            failure = "Import failed: " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = "Import was interrupted";
+        } catch (RuntimeException e) {
+            logger.error("Import job {} failed", job.getId(), e);
+            failure = "Import failed: " + e.getMessage();
+        } finally {
+            stopped = true;
+            deleteQuietly(job.getInputFile());
+            deleteQuietly(job.getPhotosFile());
+        }
+        if (failure != null) {
+            job.markFailed(failure);
+        } else {
+            job.markCompleted();
+        }
+        logger.info("Import job {} {}: {} imported, {} failed", job.getId(), job.getStatus(),
+                job.getRowsImported().get(), job.getRowsFailed().get());
+    }
+
+    /**
+     * Start the reader, then write prepared batches as workers complete them
+     *
+     * @param photos Photo archive, or null if none was uploaded
+     * @param errorReport Destination for failed rows
+     * @return Reason the file could not be read completely, or null
+     */
+    private String runPipeline(ZipFile photos, ErrorReport errorReport) throws IOException, InterruptedException {
+        CompletionService<List<PreparedRow>> completionService = new ExecutorCompletionService<>(workerExecutor);
+        Semaphore batchesInFlight = new Semaphore(maxBatchesInFlight);
+        AtomicInteger submitted = new AtomicInteger();
+        AtomicReference<String> readFailure = new AtomicReference<>();
+        // Set only after the last batch was counted in submitted
+        AtomicBoolean readerDone = new AtomicBoolean();
+
+        Thread reader = Thread.ofPlatform()
+                .name("import-reader-" + job.getId())
+                .daemon(true)
+                .start(() -> {
+                    try {
+                        readRows(photos, completionService, batchesInFlight, submitted);
+                    } catch (IOException | RuntimeException e) {
+                        logger.warn("Import job {} could not read its file", job.getId(), e);
+                        readFailure.set("Could not read file: " + e.getMessage());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        readerDone.set(true);
+                    }
+                });
+
+        List<PreparedRow> chunk = new ArrayList<>(chunkSize);
+        int consumed = 0;
+        try {
+            while (!readerDone.get() || consumed < submitted.get()) {
+                Future<List<PreparedRow>> future = completionService.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (future == null) {
+                    continue;
+                }
+                consumed++;
+                List<PreparedRow> rows = getBatch(future);
+                batchesInFlight.release();
+                for (PreparedRow row : rows) {
+                    if (row.errors != null) {
+                        errorReport.write(row.lineNumber, row.errors);
+                        job.getRowsFailed().incrementAndGet();
+                        continue;
+                    }
+                    chunk.add(row);
+                    if (chunk.size() == chunkSize) {
+                        writeChunk(chunk, errorReport);
+                        chunk.clear();
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, errorReport);
+            }
+        } finally {
+            stopped = true;
+            reader.join();
+        }
+        return readFailure.get();
+    }
+
+    /**
+     * Parse the input file and hand batches of rows to the worker pool
+     * Blocks while too many batches are waiting to be written
+     */
+    private void readRows(ZipFile photos, CompletionService<List<PreparedRow>> completionService,
+                          Semaphore batchesInFlight, AtomicInteger submitted) throws IOException, InterruptedException {
+        try (BufferedReader in = Files.newBufferedReader(job.getInputFile(), StandardCharsets.UTF_8)) {
+            Iterator<ImportRow> rows = job.getFormat() == ExportFormat.CSV ? csvRows(in) : ndjsonRows(in);
+            List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+            while (rows.hasNext() && !stopped) {
+                batch.add(rows.next());
+                job.getRowsRead().incrementAndGet();
+                if (batch.size() == BATCH_SIZE || !rows.hasNext()) {
+                    while (!batchesInFlight.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (stopped) {
+                            return;
+                        }
+                    }
+                    List<ImportRow> rowsToPrepare = batch;
+                    completionService.submit(() -> prepareBatch(rowsToPrepare, photos));
+                    submitted.incrementAndGet();
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private List<PreparedRow> getBatch(Future<List<PreparedRow>> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // prepareRow reports row problems itself, so this is a bug rather than bad input
+            throw new IllegalStateException("Import worker failed", e.getCause());
+        }
+    }
+
+    private List<PreparedRow> prepareBatch(List<ImportRow> rows, ZipFile photos) {
+        List<PreparedRow> prepared = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            prepared.add(prepareRow(row, photos));
+            job.getRowsProcessed().incrementAndGet();
+        }
+        return prepared;
+    }
+
+    /**
+     * Validate a row and create its thumbnail
+     * Runs on a worker thread, outside any transaction
+     *
+     * @param row Parsed row
+     * @param photos Photo archive, or null
+     * @return Row ready to be written, or carrying its errors
+     */
+    private PreparedRow prepareRow(ImportRow row, ZipFile photos) {
+        if (row.error != null) {
+            return PreparedRow.failed(row.lineNumber, Map.of("row", row.error));
+        }
+        Map<String, String> errors = new LinkedHashMap<>();
+        StudentDTO studentDTO = new StudentDTO(null, trimToNull(row.get("name")), null,
+                trimToNull(row.get("mobileNo")), null);
+        String birthDate = trimToNull(row.get("birthDate"));
+        if (birthDate != null) {
+            try {
+                studentDTO.setBirthDate(LocalDate.parse(birthDate));
+            } catch (DateTimeParseException e) {
+                errors.put("birthDate", "Birth date must be in yyyy-MM-dd format");
+            }
+        }
+        try {
+            StudentService.validateStudent(studentDTO);
+        } catch (ValidationException e) {
+            e.getErrors().forEach(errors::putIfAbsent);
+        }
+
+        byte[] photo = null;
+        Thumbnail thumbnail = null;
+        try {
+            photo = readPhoto(row, photos);
+            if (photo != null) {
+                studentPhotoService.validatePhoto(photo);
+                // Workers are already a bounded pool, so resize here instead of queueing on the image pool
+                thumbnail = imageProcessingEngine.createThumbnailInCurrentThread(photo);
+            }
+        } catch (ValidationException e) {
+            errors.putAll(e.getErrors());
+        } catch (IOException e) {
+            errors.put("photo", "Photo could not be read: " + e.getMessage());
+        }
+
+        if (!errors.isEmpty()) {
+            return PreparedRow.failed(row.lineNumber, errors);
+        }
+        Student student = studentDTO.toEntity();
+        return new PreparedRow(row.lineNumber, student, photo, thumbnail, null);
+    }
+
+    /**
+     * Read a row's photo from the archive entry named in the photo column, or from photoBase64
+     *
+     * @return Photo bytes, or null if the row has no photo
+     * @throws ValidationException if the photo is missing or too large
+     * @throws IOException If the archive cannot be read
+     */
+    private byte[] readPhoto(ImportRow row, ZipFile photos) throws IOException {
+        String photoName = trimToNull(row.get("photo"));
+        if (photoName != null) {
+            if (photos == null) {
+                throw photoError("Row names a photo but no photo archive was uploaded");
+            }
+            ZipEntry entry = photos.getEntry(photoName);
+            if (entry == null || entry.isDirectory()) {
+                throw photoError("Photo not found in archive: " + photoName);
+            }
+            try (InputStream in = photos.getInputStream(entry)) {
+                byte[] photo = in.readNBytes((int) Math.min(maxPhotoBytes + 1, Integer.MAX_VALUE - 8));
+                if (photo.length > maxPhotoBytes) {
+                    throw photoError("Photo is larger than " + maxPhotoBytes + " bytes");
+                }
+                return photo;
+            }
+        }
+        String photoBase64 = trimToNull(row.get("photoBase64"));
+        if (photoBase64 != null) {
+            byte[] photo = ImageUtil.decodeFromBase64(photoBase64);
+            if (photo == null) {
+                throw photoError("Photo is not valid Base64");
+            }
+            if (photo.length > maxPhotoBytes) {
+                throw photoError("Photo is larger than " + maxPhotoBytes + " bytes");
+            }
+            return photo;
+        }
+        return null;
+    }
+
+    /**
+     * Write prepared rows in one transaction
+     * If the transaction fails every row in the chunk is reported as failed
+     */
+    private void writeChunk(List<PreparedRow> rows, ErrorReport errorReport) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Student> students = new ArrayList<>(rows.size());
+                for (PreparedRow row : rows) {
+                    students.add(row.student);
+                }
+                studentRepository.saveAll(students);
+                // Imported students are new, so their photos are only inserted and batch with the students
+                Map<Long, PhotoUpload> photos = new LinkedHashMap<>();
+                for (PreparedRow row : rows) {
+                    if (row.photo != null) {
+                        photos.put(row.student.getId(), new PhotoUpload(row.photo, row.thumbnail));
+                    }
+                    eventPublisher.publishEvent(StudentChangedEvent.created(row.student.getId(), row.student.getName()));
+                }
+                studentPhotoService.insertPhotos(photos);
+            });
+            job.getRowsImported().addAndGet(rows.size());
+        } catch (RuntimeException e) {
+            logger.warn("Import job {} could not save a chunk of {} rows", job.getId(), rows.size(), e);
+            for (PreparedRow row : rows) {
+                errorReport.write(row.lineNumber, Map.of("row", "Not saved: " + e.getMessage()));
+            }
+            job.getRowsFailed().addAndGet(rows.size());
+        }
+    }
+
+    private Iterator<ImportRow> csvRows(BufferedReader in) throws IOException {
+        CsvReader csvReader = new CsvReader(in);
+        List<String> header = csvReader.readRecord();
+        if (header == null) {
+            return List.<ImportRow>of().iterator();
+        }
+        List<String> columns = header.stream().map(String::trim).toList();
+        return new RowIterator() {
+            @Override
+            ImportRow readNext() throws IOException {
+                List<String> record = csvReader.readRecord();
+                // Skip blank lines
+                while (record != null && record.size() == 1 && record.get(0).isBlank()) {
+                    record = csvReader.readRecord();
+                }
+                if (record == null) {
+                    return null;
+                }
+                long lineNumber = csvReader.getRecordLineNumber();
+                if (record.size() != columns.size()) {
+                    return ImportRow.failed(lineNumber,
+                            "Expected " + columns.size() + " columns, found " + record.size());
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    values.put(columns.get(i), record.get(i));
+                }
+                return new ImportRow(lineNumber, values, null);
+            }
+        };
+    }
+
+    private Iterator<ImportRow> ndjsonRows(BufferedReader in) {
+        return new RowIterator() {
+            private long lineNumber;
+
+            @Override
+            ImportRow readNext() throws IOException {
+                String line;
+                do {
+                    line = in.readLine();
+                    lineNumber++;
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (JsonProcessingException e) {
+                    return ImportRow.failed(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                }
+                if (!node.isObject()) {
+                    return ImportRow.failed(lineNumber, "Expected a JSON object");
+                }
+                Map<String, String> values = new HashMap<>();
+                node.fields().forEachRemaining(field ->
+                        values.put(field.getKey(), field.getValue().isNull() ? null : field.getValue().asText()));
+                return new ImportRow(lineNumber, values, null);
+            }
+        };
+    }
+
+    private static ValidationException photoError(String message) {
+        ValidationException validationException = new ValidationException("Validation failed");
+        validationException.addError("photo", message);
+        return validationException;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete import file: {}", path, e);
+        }
+    }
+
+    /**
+     * One parsed row of the input file, or the reason it could not be parsed
+     */
+    private static class ImportRow {
+        final long lineNumber;
+        final Map<String, String> values;
+        final String error;
+
+        ImportRow(long lineNumber, Map<String, String> values, String error) {
+            this.lineNumber = lineNumber;
+            this.values = values;
+            this.error = error;
+        }
+
+        static ImportRow failed(long lineNumber, String error) {
+            return new ImportRow(lineNumber, Map.of(), error);
+        }
+
+        String get(String column) {
+            return values.get(column);
+        }
+    }
+
+    /**
+     * A validated row with its thumbnail, or the errors that keep it from being written
+     */
+    private static class PreparedRow {
+        final long lineNumber;
+        final Student student;
+        final byte[] photo;
+        final Thumbnail thumbnail;
+        final Map<String, String> errors;
+
+        PreparedRow(long lineNumber, Student student, byte[] photo, Thumbnail thumbnail, Map<String, String> errors) {
+            this.lineNumber = lineNumber;
+            this.student = student;
+            this.photo = photo;
+            this.thumbnail = thumbnail;
+            this.errors = errors;
+        }
+
+        static PreparedRow failed(long lineNumber, Map<String, String> errors) {
+            return new PreparedRow(lineNumber, null, null, null, errors);
+        }
+    }
+
+    /**
+     * Iterator over rows read ahead one at a time
+     * IO failures are rethrown as UncheckedIOException and unwrapped by readRows
+     */
+    private abstract static class RowIterator implements Iterator<ImportRow> {
+        private ImportRow next;
+        private boolean done;
+
+        abstract ImportRow readNext() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = readNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public ImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ImportRow row = next;
+            next = null;
+            return row;
+        }
+    }
+
+    /**
+     * CSV file of rows that were not imported, one line per error
+     * Only written from the job thread
+     */
+    private static class ErrorReport implements Closeable {
+        private final Writer writer;
+
+        ErrorReport(Path path) throws IOException {
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+            writer.write("line,field,message\r\n");
+        }
+
+        void write(long lineNumber, Map<String, String> errors) throws IOException {
+            for (Map.Entry<String, String> error : errors.entrySet()) {
+                writer.write(lineNumber + "," + CsvUtil.escape(error.getKey()) + ","
+                        + CsvUtil.escape(error.getValue()) + "\r\n");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
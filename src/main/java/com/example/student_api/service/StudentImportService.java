@@ -0,0 +1,210 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.ExportFormat;
+import com.example.student_api.exception.ResourceNotFoundException;
+import com.example.student_api.exception.ServiceUnavailableException;
+import com.example.student_api.exception.ValidationException;
+import com.example.student_api.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for background student imports
+ * Uploaded files are moved to temporary files and imported on dedicated threads, so request
+ * threads only pay for the upload. Job state is kept in memory on this instance and finished
+ * jobs are forgotten after the configured retention.
+ */
+@Service
+public class StudentImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentImportService.class);
+
+    private final StudentRepository studentRepository;
+    private final StudentPhotoService studentPhotoService;
+    private final ImageProcessingEngine imageProcessingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final long maxPhotoBytes;
+    private final Duration retention;
+    private final int workerThreads;
+    private final ThreadPoolExecutor jobExecutor;
+    private final ExecutorService workerExecutor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public StudentImportService(StudentRepository studentRepository,
+                                StudentPhotoService studentPhotoService,
+                                ImageProcessingEngine imageProcessingEngine,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${student.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                                @Value("${student.import.max-queued-jobs:10}") int maxQueuedJobs,
+                                @Value("${student.import.worker-threads:0}") int workerThreads,
+                                @Value("${student.import.chunk-size:500}") int chunkSize,
+                                @Value("${student.import.max-photo-size:10MB}") DataSize maxPhotoSize,
+                                @Value("${student.import.retention:24h}") Duration retention) {
+        this.studentRepository = studentRepository;
+        this.studentPhotoService = studentPhotoService;
+        this.imageProcessingEngine = imageProcessingEngine;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxPhotoBytes = maxPhotoSize.toBytes();
+        this.retention = retention;
+        this.workerThreads = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        this.jobExecutor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs),
+                Thread.ofPlatform().name("import-job-", 1).daemon(true).factory());
+        this.workerExecutor = Executors.newFixedThreadPool(this.workerThreads,
+                Thread.ofPlatform().name("import-worker-", 1).daemon(true).factory());
+    }
+
+    /**
+     * Start importing students from an uploaded file
+     *
+     * @param file CSV or NDJSON file with name, birthDate, mobileNo and optionally photo or photoBase64 columns
+     * @param photos Optional zip archive with the photos named in the photo column
+     * @param format Format, or null to infer it from the file name
+     * @return Queued import job
+     * @throws ValidationException if the file is missing or the format is unknown
+     * @throws ServiceUnavailableException if too many imports are already queued
+     * @throws IOException If the uploads cannot be stored
+     */
+    public ImportJob startImport(MultipartFile file, MultipartFile photos, String format) throws IOException {
+        if (file == null || file.isEmpty()) {
+            ValidationException validationException = new ValidationException("Validation failed");
+            validationException.addError("file", "Import file cannot be empty");
+            throw validationException;
+        }
+        ExportFormat importFormat = format != null ? ExportFormat.fromParameter(format) : inferFormat(file);
+        purgeExpiredJobs();
+
+        Path inputFile = Files.createTempFile("student-import-", "." + importFormat.getExtension());
+        Path photosFile = null;
+        Path errorReport = null;
+        try {
+            file.transferTo(inputFile);
+            if (photos != null && !photos.isEmpty()) {
+                photosFile = Files.createTempFile("student-import-photos-", ".zip");
+                photos.transferTo(photosFile);
+            }
+            errorReport = Files.createTempFile("student-import-errors-", ".csv");
+        } catch (IOException e) {
+            deleteFiles(inputFile, photosFile, errorReport);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), importFormat,
+                inputFile, photosFile, errorReport);
+        jobs.put(job.getId(), job);
+        try {
+            jobExecutor.execute(new StudentImportJobRunner(job, studentRepository, studentPhotoService,
+                    imageProcessingEngine, eventPublisher, transactionTemplate, objectMapper, workerExecutor, workerThreads * 2,
+                    chunkSize, maxPhotoBytes));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            deleteFiles(inputFile, photosFile, errorReport);
+            throw new ServiceUnavailableException("Too many imports are in progress, please try again later");
+        }
+        logger.info("Queued import job {} for {}", job.getId(), job.getFileName());
+        return job;
+    }
+
+    /**
+     * Get an import job
+     *
+     * @param id Job ID
+     * @return Import job
+     * @throws ResourceNotFoundException if the job does not exist or has expired
+     */
+    public ImportJob getJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job", "id", id);
+        }
+        return job;
+    }
+
+    /**
+     * Get the error report of a finished import job
+     *
+     * @param id Job ID
+     * @return Path of the CSV error report
+     * @throws ResourceNotFoundException if the job does not exist or has expired
+     * @throws ValidationException if the job has not finished yet
+     */
+    public Path getErrorReport(String id) {
+        ImportJob job = getJob(id);
+        if (!job.isFinished()) {
+            ValidationException validationException = new ValidationException("Import job has not finished");
+            validationException.addError("status", job.getStatus().name());
+            throw validationException;
+        }
+        return job.getErrorReport();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        workerExecutor.shutdownNow();
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (job.isFinished() && job.getFinishedAt().isBefore(cutoff)) {
+                deleteFiles(job.getErrorReport());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static ExportFormat inferFormat(MultipartFile file) {
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? ExportFormat.NDJSON : ExportFormat.CSV;
+    }
+
+    private static void deleteFiles(Path... paths) {
+        for (Path path : paths) {
+            if (path == null) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warn("Could not delete import file: {}", path, e);
+            }
+        }
+    }
+}
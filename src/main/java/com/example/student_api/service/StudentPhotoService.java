@@ -0,0 +1,340 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.PhotoContent;
+import com.example.student_api.dto.PhotoSize;
+import com.example.student_api.exception.ResourceNotFoundException;
+import com.example.student_api.exception.ServiceUnavailableException;
+import com.example.student_api.exception.ValidationException;
+import com.example.student_api.model.StudentPhoto;
+import com.example.student_api.model.StudentThumbnail;
+import com.example.student_api.repository.StudentPhotoRepository;
+import com.example.student_api.repository.StudentThumbnailRepository;
+import com.example.student_api.repository.StudentThumbnailRepository.ContentHash;
+import com.example.student_api.util.ImageInfo;
+import com.example.student_api.util.ImageUtil;
+import com.example.student_api.util.Thumbnail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for storing student photos and their thumbnails
+ * Photos and thumbnails are kept in their own tables so student queries never load image bytes
+ */
+@Service
+@Transactional
+public class StudentPhotoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentPhotoService.class);
+    private final StudentPhotoRepository studentPhotoRepository;
+    private final StudentThumbnailRepository studentThumbnailRepository;
+    private final ImageProcessingEngine imageProcessingEngine;
+    private final List<String> allowedFormats;
+    private final int maxWidth;
+    private final int maxHeight;
+    private final long maxSize;
+
+    @Autowired
+    public StudentPhotoService(StudentPhotoRepository studentPhotoRepository,
+                               StudentThumbnailRepository studentThumbnailRepository,
+                               ImageProcessingEngine imageProcessingEngine,
+                               @Value("${student.photo.allowed-formats:jpeg,png,gif,bmp}") List<String> allowedFormats,
+                               @Value("${student.photo.max-width:8000}") int maxWidth,
+                               @Value("${student.photo.max-height:8000}") int maxHeight,
+                               @Value("${student.photo.max-size:10MB}") DataSize maxSize) {
+        this.studentPhotoRepository = studentPhotoRepository;
+        this.studentThumbnailRepository = studentThumbnailRepository;
+        this.imageProcessingEngine = imageProcessingEngine;
+        this.allowedFormats = allowedFormats;
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.maxSize = maxSize.toBytes();
+    }
+
+    /**
+     * Read an uploaded photo after validating its header
+     * Type and dimensions are checked from the header before the body is read, and the
+     * spooled part is then read into a single array without any Base64 round trip.
+     *
+     * @param file Uploaded photo part
+     * @return Photo bytes
+     * @throws ValidationException if the file is empty, not an allowed image type or too large
+     * @throws IOException If the uploaded file cannot be read
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public byte[] readUploadedPhoto(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw photoValidationException("Photo file cannot be empty");
+        }
+        if (file.getSize() > maxSize) {
+            throw photoValidationException("Photo must be at most " + DataSize.ofBytes(maxSize).toMegabytes() + "MB");
+        }
+        try (InputStream inputStream = file.getInputStream()) {
+            checkImageInfo(ImageUtil.readImageInfo(inputStream));
+        }
+        return file.getBytes();
+    }
+
+    /**
+     * Validate photo bytes that did not arrive as an upload, e.g. from JSON or an import archive
+     *
+     * @param photo Photo bytes
+     * @throws ValidationException if the photo is empty, not an allowed image type or too large
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void validatePhoto(byte[] photo) {
+        if (photo == null || photo.length == 0) {
+            throw photoValidationException("Photo file cannot be empty");
+        }
+        if (photo.length > maxSize) {
+            throw photoValidationException("Photo must be at most " + DataSize.ofBytes(maxSize).toMegabytes() + "MB");
+        }
+        try (InputStream inputStream = new ByteArrayInputStream(photo)) {
+            checkImageInfo(ImageUtil.readImageInfo(inputStream));
+        } catch (IOException e) {
+            throw photoValidationException("Photo could not be read");
+        }
+    }
+
+    /**
+     * Validate a photo and create its thumbnail on the image processing pool
+     * Call before opening the transaction that stores the photo: waiting for the pool inside
+     * one would hold a database connection for up to student.image.max-wait.
+     *
+     * @param photo Original photo bytes, or null or empty for none
+     * @return Photo and thumbnail, or null if there is no photo
+     * @throws ValidationException if the photo is not an allowed image type or too large
+     * @throws ServiceUnavailableException if the image pool is saturated
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PhotoUpload preparePhoto(byte[] photo) {
+        if (photo == null || photo.length == 0) {
+            return null;
+        }
+        // Photos sent in JSON skip readUploadedPhoto, so their header is checked here
+        validatePhoto(photo);
+        return new PhotoUpload(photo, imageProcessingEngine.createThumbnail(photo));
+    }
+
+    /**
+     * Store a student's photo with a thumbnail that was already created
+     * Thumbnails are created outside the transaction, by preparePhoto or on import worker threads
+     *
+     * @param studentId Student ID
+     * @param photo Original photo bytes
+     * @param thumbnail Thumbnail created from the photo
+     * @return Stored thumbnail
+     */
+    public StudentThumbnail savePhoto(Long studentId, byte[] photo, Thumbnail thumbnail) {
+        logger.debug("Saving photo for student ID: {} ({} bytes)", studentId, photo.length);
+        // Replaced with a delete and insert, so the previous photo's bytes are never read
+        deletePhoto(studentId);
+        studentPhotoRepository.save(new StudentPhoto(studentId, photo));
+        return studentThumbnailRepository.save(new StudentThumbnail(studentId, thumbnail.getData(),
+                thumbnail.getWidth(), thumbnail.getHeight(), thumbnail.getContentHash()));
+    }
+
+    /**
+     * Store the photos of students that have none yet, such as students created in the same transaction
+     * Nothing is deleted or flushed first, so the inserts are JDBC batched when the transaction commits
+     *
+     * @param photos Prepared photos keyed by student ID
+     */
+    public void insertPhotos(Map<Long, PhotoUpload> photos) {
+        if (photos.isEmpty()) {
+            return;
+        }
+        List<StudentPhoto> originals = new ArrayList<>(photos.size());
+        List<StudentThumbnail> thumbnails = new ArrayList<>(photos.size());
+        photos.forEach((studentId, upload) -> {
+            Thumbnail thumbnail = upload.thumbnail();
+            originals.add(new StudentPhoto(studentId, upload.photo()));
+            thumbnails.add(new StudentThumbnail(studentId, thumbnail.getData(), thumbnail.getWidth(),
+                    thumbnail.getHeight(), thumbnail.getContentHash()));
+        });
+        studentPhotoRepository.saveAll(originals);
+        studentThumbnailRepository.saveAll(thumbnails);
+    }
+
+    /**
+     * Replace the photos of several students
+     * Deletes the previous photos with one statement per table, then batches the inserts
+     *
+     * @param photos Prepared photos keyed by student ID
+     */
+    public void replacePhotos(Map<Long, PhotoUpload> photos) {
+        if (photos.isEmpty()) {
+            return;
+        }
+        deletePhotos(photos.keySet());
+        insertPhotos(photos);
+    }
+
+    /**
+     * Delete a student's photo and thumbnail if present
+     * Deletes by ID without loading either row first
+     *
+     * @param studentId Student ID
+     */
+    public void deletePhoto(Long studentId) {
+        deletePhotos(List.of(studentId));
+    }
+
+    /**
+     * Delete the photos and thumbnails of several students with one statement per table
+     *
+     * @param studentIds Student IDs
+     */
+    public void deletePhotos(Collection<Long> studentIds) {
+        studentThumbnailRepository.deleteAllByIdInBatch(studentIds);
+        studentPhotoRepository.deleteAllByIdInBatch(studentIds);
+    }
+
+    /**
+     * Get the stored thumbnail for a student
+     *
+     * @param studentId Student ID
+     * @return Thumbnail or null if the student has no photo
+     */
+    @Transactional(readOnly = true)
+    public StudentThumbnail getThumbnail(Long studentId) {
+        return studentThumbnailRepository.findById(studentId).orElse(null);
+    }
+
+    /**
+     * Get the stored thumbnails for several students with a single query
+     *
+     * @param studentIds Student IDs
+     * @return Thumbnails keyed by student ID; students without a photo are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, StudentThumbnail> getThumbnails(Collection<Long> studentIds) {
+        return studentThumbnailRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(StudentThumbnail::getStudentId, Function.identity()));
+    }
+
+    /**
+     * Get the content hash of a student's photo without loading any image bytes
+     *
+     * @param studentId Student ID
+     * @return SHA-256 hash of the original photo
+     * @throws ResourceNotFoundException if the student has no photo
+     */
+    @Transactional(readOnly = true)
+    public String getContentHash(Long studentId) {
+        return studentThumbnailRepository.findContentHashByStudentId(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Photo", "studentId", studentId));
+    }
+
+    /**
+     * Get the content hashes of several students' photos with a single query
+     *
+     * @param studentIds Student IDs
+     * @return Content hashes keyed by student ID; students without a photo are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, String> getContentHashes(Collection<Long> studentIds) {
+        return studentThumbnailRepository.findContentHashesByStudentIdIn(studentIds).stream()
+                .collect(Collectors.toMap(ContentHash::getStudentId, ContentHash::getContentHash));
+    }
+
+    /**
+     * Get the raw bytes of a student's photo
+     *
+     * @param studentId Student ID
+     * @param size Thumbnail or original photo
+     * @return Photo bytes with content type and hash
+     * @throws ResourceNotFoundException if the student has no photo
+     */
+    @Transactional(readOnly = true)
+    public PhotoContent getPhoto(Long studentId, PhotoSize size) {
+        if (size == PhotoSize.FULL) {
+            String contentHash = getContentHash(studentId);
+            byte[] data = studentPhotoRepository.findById(studentId)
+                    .map(StudentPhoto::getData)
+                    .orElseThrow(() -> new ResourceNotFoundException("Photo", "studentId", studentId));
+            return new PhotoContent(data, ImageUtil.detectContentType(data), contentHash);
+        }
+        StudentThumbnail thumbnail = studentThumbnailRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Photo", "studentId", studentId));
+        return new PhotoContent(thumbnail.getData(), ImageUtil.detectContentType(thumbnail.getData()),
+                thumbnail.getContentHash());
+    }
+
+    /**
+     * Generate the stored thumbnail for a photo that has none yet
+     * Used by the backfill job for photos written before thumbnails were introduced
+     *
+     * @param studentId Student ID
+     * @return true if a thumbnail was created
+     */
+    public boolean backfillThumbnail(Long studentId) {
+        if (studentThumbnailRepository.existsById(studentId)) {
+            return false;
+        }
+        StudentPhoto photo = studentPhotoRepository.findById(studentId).orElse(null);
+        if (photo == null) {
+            return false;
+        }
+        storeThumbnail(studentId, photo.getData());
+        return true;
+    }
+
+    /**
+     * Check a photo's header against the allowed formats and dimensions
+     *
+     * @param imageInfo Header information, or null if the image could not be read
+     * @throws ValidationException if the photo is not an allowed image type or too large
+     */
+    private void checkImageInfo(ImageInfo imageInfo) {
+        if (imageInfo == null || !allowedFormats.contains(imageInfo.getFormatName())) {
+            throw photoValidationException("Photo must be one of: " + String.join(", ", allowedFormats));
+        }
+        if (imageInfo.getWidth() > maxWidth || imageInfo.getHeight() > maxHeight) {
+            throw photoValidationException(String.format("Photo must be at most %dx%d pixels, was %dx%d",
+                    maxWidth, maxHeight, imageInfo.getWidth(), imageInfo.getHeight()));
+        }
+    }
+
+    /**
+     * Create a validation exception for the photo field
+     *
+     * @param message Error message
+     * @return Validation exception
+     */
+    private ValidationException photoValidationException(String message) {
+        ValidationException validationException = new ValidationException("Validation failed");
+        validationException.addError("photo", message);
+        return validationException;
+    }
+
+    /**
+     * Resize the photo once and store its thumbnail
+     * Runs on the calling backfill thread rather than competing with uploads for the image pool
+     *
+     * @param studentId Student ID
+     * @param photo Original photo bytes
+     * @return Stored thumbnail
+     */
+    private StudentThumbnail storeThumbnail(Long studentId, byte[] photo) {
+        Thumbnail thumbnail = imageProcessingEngine.createThumbnailInCurrentThread(photo);
+        return studentThumbnailRepository.save(new StudentThumbnail(studentId, thumbnail.getData(),
+                thumbnail.getWidth(), thumbnail.getHeight(), thumbnail.getContentHash()));
+    }
+}
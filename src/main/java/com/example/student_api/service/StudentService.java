@@ -1,21 +1,51 @@
 package com.example.student_api.service;
 
+import com.example.student_api.dto.CursorResponse;
+import com.example.student_api.dto.PhotoMode;
 import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.dto.StudentField;
+import com.example.student_api.dto.StudentPatchDTO;
+import com.example.student_api.dto.SuggestionDTO;
+import com.example.student_api.exception.PreconditionFailedException;
 import com.example.student_api.exception.ResourceNotFoundException;
 import com.example.student_api.exception.ValidationException;
 import com.example.student_api.model.Student;
+import com.example.student_api.model.StudentThumbnail;
 import com.example.student_api.repository.StudentRepository;
-import com.example.student_api.util.ImageUtil;
+import com.example.student_api.search.StudentNameIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -27,115 +57,374 @@ import java.util.stream.Collectors;
 public class StudentService {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentService.class);
+    private static final int MAX_CURSOR_LIMIT = 100;
+    private static final String CURSOR_PREFIX = "id:";
+    private static final int ID_BATCH_SIZE = 1000;
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final StudentRepository studentRepository;
+    private final StudentPhotoService studentPhotoService;
+    private final StudentNameIndex studentNameIndex;
+    private final StudentCache studentCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final Duration countCacheTtl;
+
+    // Approximate total for cursor responses, refreshed at most once per TTL
+    private volatile long cachedCount = -1;
+    private volatile long cachedCountAt;
 
     @Autowired
-    public StudentService(StudentRepository studentRepository) {
+    public StudentService(StudentRepository studentRepository,
+                          StudentPhotoService studentPhotoService,
+                          StudentNameIndex studentNameIndex,
+                          StudentCache studentCache,
+                          ApplicationEventPublisher eventPublisher,
+                          EntityManager entityManager,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${student.pagination.count-cache-ttl:30s}") Duration countCacheTtl) {
         this.studentRepository = studentRepository;
+        this.studentPhotoService = studentPhotoService;
+        this.studentNameIndex = studentNameIndex;
+        this.studentCache = studentCache;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.countCacheTtl = countCacheTtl;
     }
 
     /**
      * Get all students
      *
-     * @return List of all students with photos converted to Base64
+     * @param photoMode How photos are represented in the result
+     * @return List of all students with photos inlined as Base64 or linked by URL
      */
     @Transactional(readOnly = true)
-    public List<StudentDTO> getAllStudents() {
+    public List<StudentDTO> getAllStudents(PhotoMode photoMode) {
         logger.debug("Getting all students");
         List<Student> students = studentRepository.findAll();
-        return students.stream()
-                .map(this::convertToBase64)
-                .map(StudentDTO::fromEntity)
-                .collect(Collectors.toList());
+        return convertToDTOs(students, photoMode);
     }
 
     /**
      * Get paginated students
      *
      * @param pageable Pagination information
-     * @return Page of students with photos converted to Base64
+     * @param photoMode How photos are represented in the result
+     * @return Page of students with photos inlined as Base64 or linked by URL
      */
     @Transactional(readOnly = true)
-    public Page<StudentDTO> getAllStudentsPaginated(Pageable pageable) {
+    public Page<StudentDTO> getAllStudentsPaginated(Pageable pageable, PhotoMode photoMode) {
         logger.debug("Getting paginated students: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
         Page<Student> studentPage = studentRepository.findAll(pageable);
-        List<StudentDTO> convertedStudents = studentPage.getContent().stream()
-                .map(this::convertToBase64)
-                .map(StudentDTO::fromEntity)
-                .collect(Collectors.toList());
+        List<StudentDTO> convertedStudents = convertToDTOs(studentPage.getContent(), photoMode);
         return new PageImpl<>(convertedStudents, pageable, studentPage.getTotalElements());
     }
 
+    /**
+     * Get students after a cursor using keyset pagination
+     * Seeks on the ID index instead of skipping rows and runs no count query
+     *
+     * @param cursor Opaque cursor from a previous response, or null for the first slice
+     * @param limit Maximum number of students to return
+     * @param includeTotal Whether to include the cached approximate total
+     * @param photoMode How photos are represented in the result
+     * @return Slice of students with the cursor for the next slice
+     * @throws ValidationException if the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<StudentDTO> getStudentsAfterCursor(String cursor, int limit, boolean includeTotal,
+                                                            PhotoMode photoMode) {
+        logger.debug("Getting students after cursor: {}, limit={}", cursor, limit);
+        int boundedLimit = boundCursorLimit(limit);
+        Slice<Student> slice = studentRepository.findByIdGreaterThan(decodeCursor(cursor), keysetPage(boundedLimit));
+        return toCursorResponse(slice, boundedLimit, includeTotal ? getApproximateStudentCount() : null, photoMode);
+    }
+
+    /**
+     * Get the approximate number of students
+     * The count query runs at most once per configured TTL; writes in between are not reflected
+     *
+     * @return Cached student count
+     */
+    @Transactional(readOnly = true)
+    public long getApproximateStudentCount() {
+        long now = System.nanoTime();
+        if (cachedCount < 0 || now - cachedCountAt > countCacheTtl.toNanos()) {
+            cachedCount = studentRepository.count();
+            cachedCountAt = now;
+        }
+        return cachedCount;
+    }
+
     /**
      * Get student by ID
+     * Served from the student cache; only a miss opens a transaction and queries the database
      *
      * @param id Student ID
-     * @return Student with photo converted to Base64
+     * @param photoMode How the photo is represented in the result
+     * @return Student with photo inlined as Base64 or linked by URL
      * @throws ResourceNotFoundException if student not found
      */
-    @Transactional(readOnly = true)
-    public StudentDTO getStudentById(Long id) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StudentDTO getStudentById(Long id, PhotoMode photoMode) {
         logger.debug("Getting student by ID: {}", id);
-        Student student = studentRepository.findById(id)
+        StudentDTO cached = studentCache.get(id, () -> readOnlyTransaction.execute(status -> loadStudent(id)));
+        return copyForPhotoMode(cached, photoMode);
+    }
+
+    /**
+     * Get the current version of a student, used as its ETag
+     * Answered from the student cache or a single-column query; the photo is never loaded
+     *
+     * @param id Student ID
+     * @return Student version
+     * @throws ResourceNotFoundException if student not found
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long getStudentVersion(Long id) {
+        StudentDTO cached = studentCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getVersion();
+        }
+        // Only a cache miss takes a connection
+        return readOnlyTransaction.execute(status -> studentRepository.findVersionById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Student", "id", id));
-        return StudentDTO.fromEntity(convertToBase64(student));
     }
 
     /**
      * Get students by name
+     * Uses the in-memory name index when available, ranking best matches first and
+     * including fuzzy matches; otherwise falls back to a database LIKE query
      *
      * @param name Name to search for
-     * @return List of matching students with photos converted to Base64
+     * @param photoMode How photos are represented in the result
+     * @return List of matching students with photos inlined as Base64 or linked by URL
      */
     @Transactional(readOnly = true)
-    public List<StudentDTO> getStudentsByName(String name) {
+    public List<StudentDTO> getStudentsByName(String name, PhotoMode photoMode) {
         logger.debug("Searching students by name: {}", name);
+        if (studentNameIndex.isAvailable()) {
+            return convertToDTOs(findAllInOrder(studentNameIndex.search(name)), photoMode);
+        }
         List<Student> students = studentRepository.findByNameContainingIgnoreCase(name);
-        return students.stream()
-                .map(this::convertToBase64)
-                .map(StudentDTO::fromEntity)
-                .collect(Collectors.toList());
+        return convertToDTOs(students, photoMode);
     }
 
     /**
      * Get paginated students by name
+     * Uses the in-memory name index when available, ranking best matches first
      *
      * @param name Name to search for
      * @param pageable Pagination information
-     * @return Page of matching students with photos converted to Base64
+     * @param photoMode How photos are represented in the result
+     * @return Page of matching students with photos inlined as Base64 or linked by URL
      */
     @Transactional(readOnly = true)
-    public Page<StudentDTO> getStudentsByNamePaginated(String name, Pageable pageable) {
+    public Page<StudentDTO> getStudentsByNamePaginated(String name, Pageable pageable, PhotoMode photoMode) {
         logger.debug("Searching paginated students by name: {}, page={}, size={}",
                 name, pageable.getPageNumber(), pageable.getPageSize());
+        if (studentNameIndex.isAvailable()) {
+            List<Long> ids = studentNameIndex.search(name);
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            int to = Math.min(from + pageable.getPageSize(), ids.size());
+            List<StudentDTO> convertedStudents = convertToDTOs(findAllInOrder(ids.subList(from, to)), photoMode);
+            return new PageImpl<>(convertedStudents, pageable, ids.size());
+        }
         Page<Student> studentPage = studentRepository.findByNameContainingIgnoreCase(name, pageable);
-        List<StudentDTO> convertedStudents = studentPage.getContent().stream()
-                .map(this::convertToBase64)
-                .map(StudentDTO::fromEntity)
-                .collect(Collectors.toList());
+        List<StudentDTO> convertedStudents = convertToDTOs(studentPage.getContent(), photoMode);
         return new PageImpl<>(convertedStudents, pageable, studentPage.getTotalElements());
     }
 
+    /**
+     * Get all students with only the requested fields
+     * Unrequested columns are not selected and photo data is only read when requested
+     *
+     * @param photoMode How photos are represented in the result
+     * @param fields Fields to include
+     * @return List of all students with unrequested fields left null
+     */
+    @Transactional(readOnly = true)
+    public List<StudentDTO> getAllStudents(PhotoMode photoMode, Set<StudentField> fields) {
+        if (StudentField.isAll(fields)) {
+            return getAllStudents(photoMode);
+        }
+        logger.debug("Getting all students with fields: {}", fields);
+        return withPhotos(studentRepository.findProjected(fields, null, Pageable.unpaged()), photoMode, fields);
+    }
+
+    /**
+     * Get paginated students with only the requested fields
+     *
+     * @param pageable Pagination information
+     * @param photoMode How photos are represented in the result
+     * @param fields Fields to include
+     * @return Page of students with unrequested fields left null
+     */
+    @Transactional(readOnly = true)
+    public Page<StudentDTO> getAllStudentsPaginated(Pageable pageable, PhotoMode photoMode, Set<StudentField> fields) {
+        if (StudentField.isAll(fields)) {
+            return getAllStudentsPaginated(pageable, photoMode);
+        }
+        logger.debug("Getting paginated students with fields: {}, page={}, size={}",
+                fields, pageable.getPageNumber(), pageable.getPageSize());
+        List<StudentDTO> students = withPhotos(studentRepository.findProjected(fields, null, pageable), photoMode,
+                fields);
+        return PageableExecutionUtils.getPage(students, pageable, studentRepository::count);
+    }
+
+    /**
+     * Get students by name with only the requested fields
+     *
+     * @param name Name to search for
+     * @param photoMode How photos are represented in the result
+     * @param fields Fields to include
+     * @return List of matching students with unrequested fields left null
+     */
+    @Transactional(readOnly = true)
+    public List<StudentDTO> getStudentsByName(String name, PhotoMode photoMode, Set<StudentField> fields) {
+        if (StudentField.isAll(fields)) {
+            return getStudentsByName(name, photoMode);
+        }
+        logger.debug("Searching students by name: {} with fields: {}", name, fields);
+        List<StudentDTO> students = studentNameIndex.isAvailable()
+                ? findProjectedInOrder(studentNameIndex.search(name), fields)
+                : studentRepository.findProjected(fields, name, Pageable.unpaged());
+        return withPhotos(students, photoMode, fields);
+    }
+
+    /**
+     * Get paginated students by name with only the requested fields
+     *
+     * @param name Name to search for
+     * @param pageable Pagination information
+     * @param photoMode How photos are represented in the result
+     * @param fields Fields to include
+     * @return Page of matching students with unrequested fields left null
+     */
+    @Transactional(readOnly = true)
+    public Page<StudentDTO> getStudentsByNamePaginated(String name, Pageable pageable, PhotoMode photoMode,
+                                                       Set<StudentField> fields) {
+        if (StudentField.isAll(fields)) {
+            return getStudentsByNamePaginated(name, pageable, photoMode);
+        }
+        logger.debug("Searching paginated students by name: {} with fields: {}, page={}, size={}",
+                name, fields, pageable.getPageNumber(), pageable.getPageSize());
+        if (studentNameIndex.isAvailable()) {
+            List<Long> ids = studentNameIndex.search(name);
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            int to = Math.min(from + pageable.getPageSize(), ids.size());
+            List<StudentDTO> students = findProjectedInOrder(ids.subList(from, to), fields);
+            return new PageImpl<>(withPhotos(students, photoMode, fields), pageable, ids.size());
+        }
+        List<StudentDTO> students = withPhotos(studentRepository.findProjected(fields, name, pageable), photoMode,
+                fields);
+        return PageableExecutionUtils.getPage(students, pageable,
+                () -> studentRepository.countByNameContainingIgnoreCase(name));
+    }
+
+    /**
+     * Suggest students for typeahead from the in-memory name index
+     * Never queries the database; returns nothing while the index is still loading
+     *
+     * @param prefix Typed text
+     * @param limit Maximum number of suggestions (1-20)
+     * @return ID and name pairs of matching students
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<SuggestionDTO> suggestStudents(String prefix, int limit) {
+        if (!studentNameIndex.isAvailable()) {
+            return List.of();
+        }
+        return studentNameIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    /**
+     * Get students by name after a cursor using keyset pagination
+     *
+     * @param name Name to search for
+     * @param cursor Opaque cursor from a previous response, or null for the first slice
+     * @param limit Maximum number of students to return
+     * @param photoMode How photos are represented in the result
+     * @return Slice of matching students with the cursor for the next slice
+     * @throws ValidationException if the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<StudentDTO> getStudentsByNameAfterCursor(String name, String cursor, int limit,
+                                                                  PhotoMode photoMode) {
+        logger.debug("Searching students by name after cursor: {}, cursor={}, limit={}", name, cursor, limit);
+        int boundedLimit = boundCursorLimit(limit);
+        long afterId = decodeCursor(cursor);
+        Slice<Student> slice;
+        if (studentNameIndex.isAvailable()) {
+            List<Long> ids = studentNameIndex.findContaining(name, afterId, boundedLimit + 1);
+            boolean hasNext = ids.size() > boundedLimit;
+            List<Student> students = findAllInOrder(hasNext ? ids.subList(0, boundedLimit) : ids);
+            slice = new SliceImpl<>(students, keysetPage(boundedLimit), hasNext);
+        } else {
+            slice = studentRepository.findByNameContainingIgnoreCaseAndIdGreaterThan(
+                    name, afterId, keysetPage(boundedLimit));
+        }
+        return toCursorResponse(slice, boundedLimit, null, photoMode);
+    }
+
     /**
      * Save a new student
+     * The thumbnail is created before the transaction opens, so no connection is held while it waits
      *
      * @param studentDTO Student data to save
-     * @return Saved student with photo converted to Base64
+     * @return Saved student with its thumbnail inlined
      * @throws ValidationException if validation fails
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public StudentDTO saveStudent(StudentDTO studentDTO) {
         logger.debug("Saving new student: {}", studentDTO.getName());
         validateStudent(studentDTO);
+        PhotoUpload photo = studentPhotoService.preparePhoto(studentDTO.getPhotoBase64());
 
-        Student student = studentDTO.toEntity();
+        return writeTransaction.execute(status -> {
+            Student savedStudent = studentRepository.save(studentDTO.toEntity());
+            StudentThumbnail thumbnail = photo != null
+                    ? studentPhotoService.savePhoto(savedStudent.getId(), photo.photo(), photo.thumbnail())
+                    : null;
+            eventPublisher.publishEvent(StudentChangedEvent.created(savedStudent.getId(), savedStudent.getName()));
+            logger.info("Student saved successfully with ID: {}", savedStudent.getId());
+            return StudentDTO.fromEntity(withThumbnail(savedStudent, thumbnail));
+        });
+    }
 
-        if (studentDTO.getPhotoBase64() != null && !studentDTO.getPhotoBase64().isEmpty()) {
-            student.setPhoto(ImageUtil.decodeFromBase64(studentDTO.getPhotoBase64()));
-        }
+    /**
+     * Save a new student with an uploaded photo
+     * The photo header is validated before the student is written
+     *
+     * @param studentDTO Student data to save
+     * @param photo Uploaded photo, or null for none
+     * @return Saved student with photo linked by URL
+     * @throws ValidationException if validation fails
+     * @throws IOException If the uploaded photo cannot be read
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StudentDTO saveStudent(StudentDTO studentDTO, MultipartFile photo) throws IOException {
+        logger.debug("Saving new student with uploaded photo: {}", studentDTO != null ? studentDTO.getName() : null);
+        validateStudent(studentDTO);
+        PhotoUpload upload = photo != null
+                ? studentPhotoService.preparePhoto(studentPhotoService.readUploadedPhoto(photo))
+                : null;
 
-        Student savedStudent = studentRepository.save(student);
-        logger.info("Student saved successfully with ID: {}", savedStudent.getId());
-        return StudentDTO.fromEntity(convertToBase64(savedStudent));
+        return writeTransaction.execute(status -> {
+            Student savedStudent = studentRepository.save(studentDTO.toEntity());
+            StudentThumbnail thumbnail = upload != null
+                    ? studentPhotoService.savePhoto(savedStudent.getId(), upload.photo(), upload.thumbnail())
+                    : null;
+            eventPublisher.publishEvent(StudentChangedEvent.created(savedStudent.getId(), savedStudent.getName()));
+            logger.info("Student saved successfully with ID: {}", savedStudent.getId());
+            return withPhotoUrl(StudentDTO.fromEntity(savedStudent),
+                    thumbnail != null ? thumbnail.getContentHash() : null);
+        });
     }
 
     /**
@@ -143,29 +432,138 @@ public class StudentService {
      *
      * @param id Student ID to update
      * @param studentDTO Updated student data
-     * @return Updated student with photo converted to Base64
+     * @return Updated student with its thumbnail inlined
      * @throws ResourceNotFoundException if student not found
      * @throws ValidationException if validation fails
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public StudentDTO updateStudent(Long id, StudentDTO studentDTO) {
+        return updateStudent(id, studentDTO, null);
+    }
+
+    /**
+     * Update an existing student if it is still at the expected version
+     * The write itself is also version checked, so a concurrent update fails instead of being lost
+     *
+     * @param id Student ID to update
+     * @param studentDTO Updated student data
+     * @param expectedVersions Versions the client accepts, or null to skip the check
+     * @return Updated student with its thumbnail inlined
+     * @throws ResourceNotFoundException if student not found
+     * @throws ValidationException if validation fails
+     * @throws PreconditionFailedException if the student is at none of the expected versions
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StudentDTO updateStudent(Long id, StudentDTO studentDTO, Set<Long> expectedVersions) {
         logger.debug("Updating student with ID: {}", id);
         validateStudent(studentDTO);
+        PhotoUpload photo = studentPhotoService.preparePhoto(studentDTO.getPhotoBase64());
 
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Student", "id", id));
+        return executeWrite(status -> {
+            Student student = studentRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Student", "id", id));
+            checkVersion(student, expectedVersions);
 
-        student.setName(studentDTO.getName());
-        student.setBirthDate(studentDTO.getBirthDate());
-        student.setMobileNo(studentDTO.getMobileNo());
+            List<Object> before = rowState(student);
+            student.setName(studentDTO.getName());
+            student.setBirthDate(studentDTO.getBirthDate());
+            student.setMobileNo(studentDTO.getMobileNo());
 
-        // Update photo only if a new one is provided
-        if (studentDTO.getPhotoBase64() != null && !studentDTO.getPhotoBase64().isEmpty()) {
-            student.setPhoto(ImageUtil.decodeFromBase64(studentDTO.getPhotoBase64()));
-        }
+            // Update photo only if a new one is provided
+            StudentThumbnail thumbnail;
+            if (photo != null) {
+                thumbnail = studentPhotoService.savePhoto(id, photo.photo(), photo.thumbnail());
+                incrementVersion(student, before);
+            } else {
+                thumbnail = studentPhotoService.getThumbnail(id);
+            }
+
+            Student updatedStudent = studentRepository.save(student);
+            eventPublisher.publishEvent(StudentChangedEvent.updated(id, updatedStudent.getName()));
+            logger.info("Student updated successfully with ID: {}", updatedStudent.getId());
+            return new StudentWrite(updatedStudent, StudentDTO.fromEntity(withThumbnail(updatedStudent, thumbnail)));
+        });
+    }
+
+    /**
+     * Apply a JSON Merge Patch to a student
+     * Only the changed columns are written, and the photo is only touched if the patch names it.
+     * The result links the photo by URL, so no thumbnail is read or encoded.
+     *
+     * @param id Student ID to patch
+     * @param patch Members to change
+     * @param expectedVersions Versions the client accepts, or null to skip the check
+     * @return Patched student with photo linked by URL
+     * @throws ResourceNotFoundException if student not found
+     * @throws ValidationException if the patched student is invalid
+     * @throws PreconditionFailedException if the student is at none of the expected versions
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StudentDTO patchStudent(Long id, StudentPatchDTO patch, Set<Long> expectedVersions) {
+        logger.debug("Patching student with ID: {}", id);
+        PhotoUpload photo = patch.hasPhotoBase64() ? studentPhotoService.preparePhoto(patch.getPhotoBase64()) : null;
+
+        return executeWrite(status -> {
+            Student student = studentRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Student", "id", id));
+            checkVersion(student, expectedVersions);
+
+            List<Object> before = rowState(student);
+            if (patch.hasName()) {
+                student.setName(patch.getName());
+            }
+            if (patch.hasBirthDate()) {
+                student.setBirthDate(patch.getBirthDate());
+            }
+            if (patch.hasMobileNo()) {
+                student.setMobileNo(patch.getMobileNo());
+            }
+            validateStudent(StudentDTO.fromEntity(student));
+
+            String contentHash;
+            if (!patch.hasPhotoBase64()) {
+                contentHash = studentPhotoService.getContentHashes(List.of(id)).get(id);
+            } else if (photo == null) {
+                studentPhotoService.deletePhoto(id);
+                incrementVersion(student, before);
+                contentHash = null;
+            } else {
+                contentHash = studentPhotoService.savePhoto(id, photo.photo(), photo.thumbnail()).getContentHash();
+                incrementVersion(student, before);
+            }
+
+            Student patchedStudent = studentRepository.save(student);
+            eventPublisher.publishEvent(StudentChangedEvent.updated(id, patchedStudent.getName()));
+            logger.info("Student patched successfully with ID: {}", id);
+            return new StudentWrite(patchedStudent, withPhotoUrl(StudentDTO.fromEntity(patchedStudent), contentHash));
+        });
+    }
+
+    /**
+     * Replace a student's photo with an uploaded file
+     *
+     * @param id Student ID
+     * @param photo Uploaded photo
+     * @return Student with photo linked by URL
+     * @throws ResourceNotFoundException if student not found
+     * @throws ValidationException if the photo is not a valid image
+     * @throws IOException If the uploaded photo cannot be read
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StudentDTO updateStudentPhoto(Long id, MultipartFile photo) throws IOException {
+        logger.debug("Updating photo for student with ID: {}", id);
+        PhotoUpload upload = studentPhotoService.preparePhoto(studentPhotoService.readUploadedPhoto(photo));
+
+        return executeWrite(status -> {
+            Student student = studentRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Student", "id", id));
 
-        Student updatedStudent = studentRepository.save(student);
-        logger.info("Student updated successfully with ID: {}", updatedStudent.getId());
-        return StudentDTO.fromEntity(convertToBase64(updatedStudent));
+            StudentThumbnail thumbnail = studentPhotoService.savePhoto(id, upload.photo(), upload.thumbnail());
+            incrementVersion(student, rowState(student));
+            eventPublisher.publishEvent(StudentChangedEvent.updated(id, student.getName()));
+            logger.info("Photo updated successfully for student with ID: {}", id);
+            return new StudentWrite(student, withPhotoUrl(StudentDTO.fromEntity(student), thumbnail.getContentHash()));
+        });
     }
 
     /**
@@ -179,19 +577,280 @@ public class StudentService {
         if (!studentRepository.existsById(id)) {
             throw new ResourceNotFoundException("Student", "id", id);
         }
+        studentPhotoService.deletePhoto(id);
         studentRepository.deleteById(id);
+        eventPublisher.publishEvent(StudentChangedEvent.deleted(id));
         logger.info("Student deleted successfully with ID: {}", id);
     }
 
     /**
-     * Convert student photo to Base64
+     * Convert students to DTOs, loading their photo data with a single query
+     * URL mode only reads content hashes, so no image bytes are fetched
+     *
+     * @param students Student entities
+     * @param photoMode How photos are represented in the result
+     * @return Student DTOs with thumbnails inlined or linked by URL
+     */
+    private List<StudentDTO> convertToDTOs(List<Student> students, PhotoMode photoMode) {
+        List<Long> ids = students.stream().map(Student::getId).collect(Collectors.toList());
+        if (photoMode == PhotoMode.URL) {
+            Map<Long, String> contentHashes = studentPhotoService.getContentHashes(ids);
+            return students.stream()
+                    .map(student -> withPhotoUrl(StudentDTO.fromEntity(student), contentHashes.get(student.getId())))
+                    .collect(Collectors.toList());
+        }
+        Map<Long, StudentThumbnail> thumbnails = studentPhotoService.getThumbnails(ids);
+        return students.stream()
+                .map(student -> withThumbnail(student, thumbnails.get(student.getId())))
+                .map(StudentDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Load a student with both its inline thumbnail and photo URL for the student cache
+     *
+     * @param id Student ID
+     * @return Student DTO carrying every photo representation
+     * @throws ResourceNotFoundException if student not found
+     */
+    private StudentDTO loadStudent(Long id) {
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student", "id", id));
+        StudentThumbnail thumbnail = studentPhotoService.getThumbnail(id);
+        StudentDTO studentDTO = StudentDTO.fromEntity(withThumbnail(student, thumbnail));
+        return withPhotoUrl(studentDTO, thumbnail != null ? thumbnail.getContentHash() : null);
+    }
+
+    /**
+     * Copy a cached student, keeping only the requested photo representation
+     *
+     * @param cached Cached student DTO, never modified
+     * @param photoMode How the photo is represented in the result
+     * @return New student DTO
+     */
+    private static StudentDTO copyForPhotoMode(StudentDTO cached, PhotoMode photoMode) {
+        StudentDTO studentDTO = new StudentDTO(cached.getId(), cached.getName(), cached.getBirthDate(),
+                cached.getMobileNo(), photoMode == PhotoMode.INLINE ? cached.getPhotoBase64() : null);
+        studentDTO.setVersion(cached.getVersion());
+        if (photoMode == PhotoMode.URL) {
+            studentDTO.setPhotoUrl(cached.getPhotoUrl());
+        }
+        return studentDTO;
+    }
+
+    /**
+     * Check that a student is still at a version a conditional write was based on
+     *
+     * @param student Student as currently stored
+     * @param expectedVersions Versions the client accepts, or null to skip the check
+     * @throws PreconditionFailedException if the student is at none of them
+     */
+    private static void checkVersion(Student student, Set<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(student.getVersion())) {
+            throw new PreconditionFailedException("Student " + student.getId() + " has been modified and is now at version "
+                    + student.getVersion());
+        }
+    }
+
+    /**
+     * Make a photo change bump the student's version exactly once
+     * Photos live in their own tables, so replacing one leaves the student row unchanged. A row whose
+     * columns also changed already gets a new version when it is flushed; otherwise the version is
+     * incremented at commit, which fails if another request updated the student meanwhile.
+     *
+     * @param student Managed student
+     * @param before Row state when the student was loaded, from rowState
+     */
+    private void incrementVersion(Student student, List<Object> before) {
+        if (before.equals(rowState(student))) {
+            entityManager.lock(student, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        }
+    }
+
+    /**
+     * @return Values of the student's columns other than ID and version
+     */
+    static List<Object> rowState(Student student) {
+        return Arrays.asList(student.getName(), student.getBirthDate(), student.getMobileNo());
+    }
+
+    /**
+     * Run a student write and return its result with the committed version
+     * Forced version increments run at commit, after the result was built inside the transaction.
+     *
+     * @param write Writes the student and builds the result
+     * @return Result of the write
+     */
+    private StudentDTO executeWrite(TransactionCallback<StudentWrite> write) {
+        StudentWrite written = writeTransaction.execute(write);
+        written.result().setVersion(written.student().getVersion());
+        return written.result();
+    }
+
+    /**
+     * Student written in a transaction and the result built from it
+     */
+    private record StudentWrite(Student student, StudentDTO result) {
+    }
+
+    /**
+     * Load students by ID, preserving the order of the given IDs
+     * IDs are fetched in batches to keep IN lists bounded; IDs deleted meanwhile are skipped
+     *
+     * @param ids Student IDs in the desired order
+     * @return Students in the same order
+     */
+    private List<Student> findAllInOrder(List<Long> ids) {
+        Map<Long, Student> studentsById = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size()));
+            studentRepository.findAllById(batch).forEach(student -> studentsById.put(student.getId(), student));
+        }
+        List<Student> students = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Student student = studentsById.get(id);
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Load projected students by ID, preserving the order of the given IDs
+     *
+     * @param ids Student IDs in the desired order
+     * @param fields Fields to select
+     * @return Projected students in the same order
+     */
+    private List<StudentDTO> findProjectedInOrder(List<Long> ids, Set<StudentField> fields) {
+        Map<Long, StudentDTO> studentsById = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size()));
+            studentRepository.findProjectedByIdIn(fields, batch)
+                    .forEach(student -> studentsById.put(student.getId(), student));
+        }
+        List<StudentDTO> students = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            StudentDTO student = studentsById.get(id);
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Add photo data to projected students if the photo field was requested
+     * Loads thumbnails or content hashes with a single query, as convertToDTOs does
+     *
+     * @param students Projected student DTOs
+     * @param photoMode How photos are represented in the result
+     * @param fields Requested fields
+     * @return The same student DTOs
+     */
+    private List<StudentDTO> withPhotos(List<StudentDTO> students, PhotoMode photoMode, Set<StudentField> fields) {
+        if (!fields.contains(StudentField.PHOTO) || students.isEmpty()) {
+            return students;
+        }
+        List<Long> ids = students.stream().map(StudentDTO::getId).collect(Collectors.toList());
+        if (photoMode == PhotoMode.URL) {
+            Map<Long, String> contentHashes = studentPhotoService.getContentHashes(ids);
+            students.forEach(student -> withPhotoUrl(student, contentHashes.get(student.getId())));
+            return students;
+        }
+        Map<Long, StudentThumbnail> thumbnails = studentPhotoService.getThumbnails(ids);
+        for (StudentDTO student : students) {
+            StudentThumbnail thumbnail = thumbnails.get(student.getId());
+            if (thumbnail != null) {
+                student.setPhotoBase64(thumbnail.getData());
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Build a cursor response from a keyset slice
+     *
+     * @param slice Slice of students ordered by ID
+     * @param limit Applied limit
+     * @param approximateTotal Approximate total, or null if not requested
+     * @param photoMode How photos are represented in the result
+     * @return Cursor response
+     */
+    private CursorResponse<StudentDTO> toCursorResponse(Slice<Student> slice, int limit, Long approximateTotal,
+                                                        PhotoMode photoMode) {
+        List<Student> students = slice.getContent();
+        String nextCursor = slice.hasNext() && !students.isEmpty()
+                ? encodeCursor(students.get(students.size() - 1).getId())
+                : null;
+        return new CursorResponse<>(convertToDTOs(students, photoMode), nextCursor, slice.hasNext(), limit,
+                approximateTotal);
+    }
+
+    private static Pageable keysetPage(int limit) {
+        return PageRequest.of(0, limit, Sort.by("id"));
+    }
+
+    private static int boundCursorLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_CURSOR_LIMIT));
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode an opaque cursor into the last seen student ID
+     *
+     * @param cursor Cursor from a previous response, or null/empty for the start
+     * @return Last seen ID, 0 for the start
+     * @throws ValidationException if the cursor is malformed
+     */
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            logger.debug("Invalid cursor: {}", cursor);
+        }
+        ValidationException validationException = new ValidationException("Invalid cursor");
+        validationException.addError("after", "Cursor is malformed");
+        throw validationException;
+    }
+
+    /**
+     * Link a student DTO to the binary photo endpoint
+     * The content hash is part of the URL so clients can cache it indefinitely
+     *
+     * @param studentDTO Student DTO
+     * @param contentHash Photo content hash, or null if the student has no photo
+     * @return Student DTO with photo URL set
+     */
+    private StudentDTO withPhotoUrl(StudentDTO studentDTO, String contentHash) {
+        if (contentHash != null) {
+            studentDTO.setPhotoUrl("/api/students/" + studentDTO.getId() + "/photo?size=thumb&v=" + contentHash);
+        }
+        return studentDTO;
+    }
+
+    /**
+     * Attach the stored thumbnail as the student's inline photo
+     * Reads never decode or resize the photo, and Base64 is only applied when writing JSON
      *
      * @param student Student entity
-     * @return Student with photo converted to Base64
+     * @param thumbnail Stored thumbnail, or null if none exists
+     * @return Student with its thumbnail
      */
-    private Student convertToBase64(Student student) {
-        if (student.getPhoto() != null) {
-            student.setPhotoBase64(ImageUtil.encodeToBase64(student.getPhoto()));
+    private Student withThumbnail(Student student, StudentThumbnail thumbnail) {
+        if (thumbnail != null) {
+            student.setPhotoBase64(thumbnail.getData());
         }
         return student;
     }
@@ -202,7 +861,7 @@ public class StudentService {
      * @param studentDTO Student data to validate
      * @throws ValidationException if validation fails
      */
-    private void validateStudent(StudentDTO studentDTO) {
+    static void validateStudent(StudentDTO studentDTO) {
         if (studentDTO == null) {
             throw new ValidationException("Student data cannot be null");
         }
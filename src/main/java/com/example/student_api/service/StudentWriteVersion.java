@@ -0,0 +1,32 @@
+package com.example.student_api.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter of committed student writes
+ * Anything derived from student data can record the version it was built at and is stale
+ * once the version moves on. Bumped after commit, so a reader that sees the new version
+ * also sees the new data.
+ */
+@Component
+public class StudentWriteVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Bump the version after a student change commits
+     *
+     * @param event Student change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    public long current() {
+        return version.get();
+    }
+}
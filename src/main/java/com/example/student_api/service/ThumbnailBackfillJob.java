@@ -0,0 +1,128 @@
+package com.example.student_api.service;
+
+import com.example.student_api.repository.StudentPhotoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-time backfill of photo storage
+ * Moves photos still stored in the legacy students.photo column into student_photos, then
+ * generates thumbnails for photos saved before thumbnails were stored at write time.
+ * Runs in the background on startup and is a few cheap queries once every row is backfilled.
+ */
+@Component
+@ConditionalOnProperty(name = "student.photo.thumbnail-backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class ThumbnailBackfillJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailBackfillJob.class);
+
+    private static final String COPY_LEGACY_PHOTOS =
+            "INSERT INTO student_photos (student_id, data) SELECT s.id, s.photo FROM students s "
+            + "WHERE s.photo IS NOT NULL AND s.id BETWEEN ? AND ? "
+            + "AND NOT EXISTS (SELECT 1 FROM student_photos p WHERE p.student_id = s.id)";
+    private static final String CLEAR_LEGACY_PHOTOS =
+            "UPDATE students SET photo = NULL WHERE photo IS NOT NULL AND id BETWEEN ? AND ?";
+
+    private final StudentPhotoRepository studentPhotoRepository;
+    private final StudentPhotoService studentPhotoService;
+    private final StudentCache studentCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public ThumbnailBackfillJob(StudentPhotoRepository studentPhotoRepository,
+                                StudentPhotoService studentPhotoService,
+                                StudentCache studentCache,
+                                JdbcTemplate jdbcTemplate,
+                                @Value("${student.photo.thumbnail-backfill.batch-size:100}") int batchSize) {
+        this.studentPhotoRepository = studentPhotoRepository;
+        this.studentPhotoService = studentPhotoService;
+        this.studentCache = studentCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Thread.ofPlatform()
+                .name("thumbnail-backfill")
+                .daemon(true)
+                .start(() -> {
+                    migrateLegacyPhotos();
+                    backfill();
+                });
+    }
+
+    /**
+     * Copy photos from the legacy students.photo column in ID ranges, then clear the column
+     * Skipped when the column does not exist, e.g. on databases created after the split
+     */
+    void migrateLegacyPhotos() {
+        Long maxId;
+        try {
+            maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM students WHERE photo IS NOT NULL", Long.class);
+        } catch (DataAccessException e) {
+            logger.debug("No legacy photo column to migrate");
+            return;
+        }
+        if (maxId == null) {
+            return;
+        }
+        int moved = 0;
+        try {
+            for (long from = 1; from <= maxId; from += batchSize) {
+                long to = from + batchSize - 1;
+                moved += jdbcTemplate.update(COPY_LEGACY_PHOTOS, from, to);
+                jdbcTemplate.update(CLEAR_LEGACY_PHOTOS, from, to);
+            }
+        } catch (DataAccessException e) {
+            logger.error("Legacy photo migration aborted", e);
+        }
+        if (moved > 0) {
+            // Students cached before their photo was moved were cached without it
+            studentCache.clear();
+            logger.info("Moved {} legacy photos into student_photos", moved);
+        }
+    }
+
+    /**
+     * Walk photos missing a thumbnail in ID order, one transaction per student
+     */
+    void backfill() {
+        long afterId = 0;
+        int created = 0;
+        try {
+            List<Long> ids = studentPhotoRepository.findIdsMissingThumbnail(afterId, PageRequest.of(0, batchSize));
+            while (!ids.isEmpty()) {
+                for (Long id : ids) {
+                    try {
+                        if (studentPhotoService.backfillThumbnail(id)) {
+                            studentCache.evict(id);
+                            created++;
+                        }
+                    } catch (RuntimeException e) {
+                        logger.warn("Could not backfill thumbnail for student ID: {}", id, e);
+                    }
+                    afterId = id;
+                }
+                ids = studentPhotoRepository.findIdsMissingThumbnail(afterId, PageRequest.of(0, batchSize));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Thumbnail backfill aborted after student ID: {}", afterId, e);
+        }
+        if (created > 0) {
+            logger.info("Thumbnail backfill created {} thumbnails", created);
+        }
+    }
+}
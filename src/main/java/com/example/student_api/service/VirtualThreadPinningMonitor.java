@@ -0,0 +1,133 @@
+package com.example.student_api.service;
+
+import com.example.student_api.dto.ConcurrencyStatsDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Records where virtual threads get pinned to their carrier thread
+ * A virtual thread that blocks inside a synchronized block or native frame keeps its carrier
+ * busy, so a few pinned requests can stall every other virtual thread. Typical culprits here are
+ * synchronized sections in the MySQL driver and ImageIO. Streams JDK Flight Recorder
+ * jdk.VirtualThreadPinned events in-process and groups them by stack trace; each new site is
+ * logged once and all sites are served at /admin/concurrency.
+ */
+@Component
+@ConditionalOnProperty(name = "student.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_SITES = 100;
+
+    private final Duration threshold;
+    private final int stackDepth;
+    private final Map<String, PinnedSite> sites = new ConcurrentHashMap<>();
+    private final LongAdder droppedCount = new LongAdder();
+    private RecordingStream recordingStream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(@Value("${student.pinning-monitor.threshold:20ms}") Duration threshold,
+                                       @Value("${student.pinning-monitor.stack-depth:12}") int stackDepth) {
+        this.threshold = threshold;
+        this.stackDepth = stackDepth;
+    }
+
+    @PostConstruct
+    void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::record);
+        recordingStream.startAsync();
+        logger.info("Reporting virtual threads pinned for longer than {}", threshold);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    /**
+     * Get pinning sites, most frequent first
+     *
+     * @return Pinned sites since the application started
+     */
+    public List<ConcurrencyStatsDTO.PinnedSite> getPinnedSites() {
+        return sites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, PinnedSite> entry) -> entry.getValue().count.sum())
+                        .reversed())
+                .map(entry -> new ConcurrencyStatsDTO.PinnedSite(entry.getKey(), entry.getValue().count.sum(),
+                        TimeUnit.NANOSECONDS.toMillis(entry.getValue().totalNanos.sum()),
+                        TimeUnit.NANOSECONDS.toMillis(entry.getValue().maxNanos.get())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return Number of pinning events not recorded because MAX_SITES distinct sites were already seen
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    private void record(RecordedEvent event) {
+        String stackTrace = formatStackTrace(event.getStackTrace());
+        PinnedSite site = sites.get(stackTrace);
+        if (site == null) {
+            if (sites.size() >= MAX_SITES) {
+                droppedCount.increment();
+                return;
+            }
+            site = sites.computeIfAbsent(stackTrace, key -> {
+                logger.warn("Virtual thread pinned for {} ms at:\n{}", event.getDuration().toMillis(), key);
+                return new PinnedSite();
+            });
+        }
+        long nanos = event.getDuration().toNanos();
+        site.count.increment();
+        site.totalNanos.add(nanos);
+        site.maxNanos.accumulate(nanos);
+    }
+
+    private String formatStackTrace(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "<no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(stackDepth)
+                .map(VirtualThreadPinningMonitor::formatFrame)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String formatFrame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() >= 0 ? ":" + frame.getLineNumber() : "");
+    }
+
+    private static final class PinnedSite {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+}
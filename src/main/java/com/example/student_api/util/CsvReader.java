@@ -0,0 +1,112 @@
+package com.example.student_api.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV record reader
+ * Reads one record at a time, so files of any size can be processed with constant memory.
+ * Quoted fields may contain delimiters, escaped quotes and line breaks.
+ */
+public class CsvReader {
+
+    private static final char BYTE_ORDER_MARK = '\ufeff';
+
+    private final Reader in;
+    private long lineNumber = 1;
+    private long recordLineNumber;
+    private int pending = -2;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Read the next record
+     *
+     * @return Fields of the record, or null at the end of input
+     * @throws IOException If reading fails or a quoted field is not closed
+     */
+    public List<String> readRecord() throws IOException {
+        int c = next();
+        if (c == BYTE_ORDER_MARK && recordLineNumber == 0) {
+            c = next();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLineNumber = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unclosed quoted field starting on line " + recordLineNumber);
+                }
+                if (c == '"') {
+                    int following = next();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    countLine(c);
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = next();
+                continue;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = next();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                if (c != -1) {
+                    lineNumber++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            fieldStart = false;
+            c = next();
+        }
+    }
+
+    /**
+     * @return Line on which the last record returned by readRecord started
+     */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    private int next() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void countLine(int c) {
+        if (c == '\n') {
+            lineNumber++;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.student_api.util;
+
+/**
+ * Utility class for writing RFC 4180 CSV
+ */
+public class CsvUtil {
+
+    // Private constructor to prevent instantiation
+    private CsvUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Escape a value for a CSV field
+     *
+     * @param value Value to escape, may be null
+     * @return Value quoted if it contains a delimiter, quote or line break; empty for null
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.student_api.util;
+
+/**
+ * Image format and dimensions read from an image header
+ */
+public class ImageInfo {
+    private final String formatName;
+    private final int width;
+    private final int height;
+
+    public ImageInfo(String formatName, int width, int height) {
+        this.formatName = formatName;
+        this.width = width;
+        this.height = height;
+    }
+
+    public String getFormatName() {
+        return formatName;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
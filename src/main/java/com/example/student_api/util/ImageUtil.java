@@ -1,20 +1,39 @@
 package com.example.student_api.util;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
 import java.awt.Graphics2D;
-import java.awt.Image;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for image processing operations
- * Handles image resizing and Base64 encoding/decoding
+ * Handles image resizing, thumbnail generation and Base64 encoding/decoding.
+ * Decode, scale, encode and Base64 steps are timed in the global meter registry as
+ * student.image.operation, whichever thread or service runs them, and added to the current
+ * RequestTrace when the calling request is traced.
  */
 public class ImageUtil {
 
@@ -24,8 +43,13 @@ public class ImageUtil {
     private static final int MAX_WIDTH = 300;
     private static final int MAX_HEIGHT = 300;
 
-    // Default image format
-    private static final String DEFAULT_FORMAT = "jpg";
+    // JPEG quality used when no engine-configured quality applies
+    private static final float DEFAULT_JPEG_QUALITY = 0.85f;
+
+    private static final Timer DECODE_TIMER = operationTimer("decode");
+    private static final Timer SCALE_TIMER = operationTimer("scale");
+    private static final Timer ENCODE_TIMER = operationTimer("encode");
+    private static final Timer BASE64_TIMER = operationTimer("base64");
 
     // Private constructor to prevent instantiation
     private ImageUtil() {
@@ -46,11 +70,29 @@ public class ImageUtil {
         try {
             // Resize the image before encoding to Base64
             byte[] resizedImageBytes = resizeImage(imageBytes);
-            return Base64.getEncoder().encodeToString(resizedImageBytes);
+            return thumbnailToBase64(resizedImageBytes);
         } catch (IOException e) {
             logger.error("Error encoding image to Base64", e);
             // Fallback to original image if resizing fails
-            return Base64.getEncoder().encodeToString(imageBytes);
+            return thumbnailToBase64(imageBytes);
+        }
+    }
+
+    /**
+     * Encode image bytes that are already thumbnail sized, such as a stored thumbnail, to Base64
+     *
+     * @param thumbnailBytes The thumbnail bytes
+     * @return Base64 encoded string or null if input is null
+     */
+    public static String thumbnailToBase64(byte[] thumbnailBytes) {
+        if (thumbnailBytes == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return Base64.getEncoder().encodeToString(thumbnailBytes);
+        } finally {
+            recordOperation(BASE64_TIMER, start);
         }
     }
 
@@ -73,55 +115,250 @@ public class ImageUtil {
     }
 
     /**
-     * Resize image if it exceeds maximum dimensions
-     * Maintains aspect ratio during resizing
+     * @param imageInfo Image header information
+     * @return true if the image is already within the thumbnail dimensions
+     */
+    public static boolean fitsThumbnail(ImageInfo imageInfo) {
+        return imageInfo.getWidth() <= MAX_WIDTH && imageInfo.getHeight() <= MAX_HEIGHT;
+    }
+
+    /**
+     * Choose a source subsampling factor for decoding an image that will become a thumbnail
+     * Keeps at least twice the thumbnail size so the final bilinear pass still has detail to work with
      *
-     * @param imageBytes The image bytes to resize
-     * @return Resized image bytes or original bytes if resizing not needed/possible
-     * @throws IOException If an I/O error occurs during image processing
+     * @param imageInfo Image header information
+     * @return Subsampling factor, 1 for none
      */
-    private static byte[] resizeImage(byte[] imageBytes) throws IOException {
-        // Read the image
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(imageBytes)) {
-            BufferedImage originalImage = ImageIO.read(bis);
+    public static int thumbnailSubsampling(ImageInfo imageInfo) {
+        double ratio = Math.max((double) imageInfo.getWidth() / MAX_WIDTH, (double) imageInfo.getHeight() / MAX_HEIGHT);
+        return Math.max(1, (int) Math.floor(ratio / 2));
+    }
 
-            if (originalImage == null) {
-                logger.warn("Could not read image for resizing");
-                return imageBytes; // Return original if can't read image
+    /**
+     * Decode an image, reading only every n-th pixel in each direction
+     * Subsampling happens in the decoder, so large photos never exist at full size in memory
+     *
+     * @param imageBytes The image bytes
+     * @param subsampling Subsampling factor, 1 for none
+     * @return Decoded image or null if the data is not a readable image format
+     * @throws IOException If the image cannot be decoded
+     */
+    public static BufferedImage readSubsampled(byte[] imageBytes, int subsampling) throws IOException {
+        long start = System.nanoTime();
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            if (imageInputStream == null) {
+                return null;
             }
-
-            // Skip resizing if image is already smaller than max dimensions
-            if (originalImage.getWidth() <= MAX_WIDTH && originalImage.getHeight() <= MAX_HEIGHT) {
-                return imageBytes;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
             }
+        } finally {
+            recordOperation(DECODE_TIMER, start);
+        }
+    }
 
-            // Calculate new dimensions while maintaining aspect ratio
-            int newWidth, newHeight;
-            double aspectRatio = (double) originalImage.getWidth() / originalImage.getHeight();
+    /**
+     * Scale image down to fit within the thumbnail dimensions
+     * Halves the size with bilinear interpolation until the target is reached, which is much
+     * faster than area averaging and avoids the aliasing of a single bilinear step.
+     * Maintains aspect ratio during resizing
+     *
+     * @param originalImage The decoded image
+     * @return Scaled image
+     */
+    public static BufferedImage scaleToFit(BufferedImage originalImage) {
+        long start = System.nanoTime();
+        // Calculate new dimensions while maintaining aspect ratio
+        int newWidth, newHeight;
+        double aspectRatio = (double) originalImage.getWidth() / originalImage.getHeight();
 
-            if (aspectRatio > 1) { // Width > Height
-                newWidth = MAX_WIDTH;
-                newHeight = (int) (MAX_WIDTH / aspectRatio);
-            } else { // Height >= Width
-                newHeight = MAX_HEIGHT;
-                newWidth = (int) (MAX_HEIGHT * aspectRatio);
-            }
+        if (aspectRatio > 1) { // Width > Height
+            newWidth = MAX_WIDTH;
+            newHeight = Math.max(1, (int) (MAX_WIDTH / aspectRatio));
+        } else { // Height >= Width
+            newHeight = MAX_HEIGHT;
+            newWidth = Math.max(1, (int) (MAX_HEIGHT * aspectRatio));
+        }
 
-            // Create a new resized image
-            Image scaledImage = originalImage.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
-            BufferedImage resizedImage = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_RGB);
-            Graphics2D g2d = resizedImage.createGraphics();
-            g2d.drawImage(scaledImage, 0, 0, null);
+        BufferedImage scaledImage = originalImage;
+        int width = originalImage.getWidth();
+        int height = originalImage.getHeight();
+        do {
+            width = Math.max(newWidth, width / 2);
+            height = Math.max(newHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = step.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(scaledImage, 0, 0, width, height, null);
             g2d.dispose();
+            scaledImage = step;
+        } while (width != newWidth || height != newHeight);
+        recordOperation(SCALE_TIMER, start);
+        return scaledImage;
+    }
 
-            // Convert back to byte array
-            try (ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
-                ImageIO.write(resizedImage, DEFAULT_FORMAT, bos);
-                return bos.toByteArray();
+    /**
+     * Create a JPEG writer
+     * Writers are not thread safe but can be reused for many images by one thread
+     *
+     * @return New JPEG writer; callers must dispose it
+     */
+    public static ImageWriter newJpegWriter() {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IllegalStateException("No JPEG writer available");
+        }
+        return writers.next();
+    }
+
+    /**
+     * Encode image as JPEG
+     *
+     * @param image The image to encode, without alpha
+     * @param writer JPEG writer, left ready for the next image
+     * @param quality Compression quality between 0 and 1
+     * @return Encoded image bytes
+     * @throws IOException If an I/O error occurs during encoding
+     */
+    public static byte[] writeJpeg(BufferedImage image, ImageWriter writer, float quality) throws IOException {
+        long start = System.nanoTime();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(bos)) {
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.reset();
+            recordOperation(ENCODE_TIMER, start);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * Read image format and dimensions from the header only
+     * The pixel data is not decoded, so this is cheap even for very large images
+     *
+     * @param inputStream Stream positioned at the start of the image; not closed by this method
+     * @return Image info or null if the data is not a readable image format
+     * @throws IOException If an I/O error occurs while reading the header
+     */
+    public static ImageInfo readImageInfo(InputStream inputStream) throws IOException {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            if (imageInputStream == null) {
+                return null;
             }
-        } catch (IOException e) {
-            logger.error("Error resizing image", e);
-            throw e;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                return new ImageInfo(reader.getFormatName().toLowerCase(Locale.ROOT),
+                        reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Detect the image content type from the leading magic bytes
+     * Only inspects the header, the image is not decoded
+     *
+     * @param imageBytes The image bytes
+     * @return MIME type, defaulting to image/jpeg for unrecognised data
+     */
+    public static String detectContentType(byte[] imageBytes) {
+        if (imageBytes != null && imageBytes.length >= 12) {
+            if ((imageBytes[0] & 0xFF) == 0x89 && imageBytes[1] == 'P' && imageBytes[2] == 'N' && imageBytes[3] == 'G') {
+                return "image/png";
+            }
+            if (imageBytes[0] == 'G' && imageBytes[1] == 'I' && imageBytes[2] == 'F') {
+                return "image/gif";
+            }
+            if (imageBytes[0] == 'B' && imageBytes[1] == 'M') {
+                return "image/bmp";
+            }
+            if (imageBytes[0] == 'R' && imageBytes[1] == 'I' && imageBytes[2] == 'F' && imageBytes[3] == 'F'
+                    && imageBytes[8] == 'W' && imageBytes[9] == 'E' && imageBytes[10] == 'B' && imageBytes[11] == 'P') {
+                return "image/webp";
+            }
+        }
+        return "image/jpeg";
+    }
+
+    /**
+     * Compute the SHA-256 hash of the given bytes
+     *
+     * @param bytes The bytes to hash
+     * @return Lowercase hex encoded hash
+     */
+    public static String sha256Hex(byte[] bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
+
+    /**
+     * Resize image if it exceeds maximum dimensions
+     * Maintains aspect ratio during resizing
+     *
+     * @param imageBytes The image bytes to resize
+     * @return Resized image bytes or original bytes if resizing not needed/possible
+     * @throws IOException If an I/O error occurs during image processing
+     */
+    private static byte[] resizeImage(byte[] imageBytes) throws IOException {
+        ImageInfo imageInfo = readImageInfo(new ByteArrayInputStream(imageBytes));
+        if (imageInfo == null) {
+            logger.warn("Could not read image for resizing");
+            return imageBytes; // Return original if can't read image
+        }
+
+        // Skip resizing if image is already smaller than max dimensions
+        if (fitsThumbnail(imageInfo)) {
+            return imageBytes;
+        }
+
+        BufferedImage decodedImage = readSubsampled(imageBytes, thumbnailSubsampling(imageInfo));
+        if (decodedImage == null) {
+            return imageBytes;
+        }
+        ImageWriter writer = newJpegWriter();
+        try {
+            return writeJpeg(scaleToFit(decodedImage), writer, DEFAULT_JPEG_QUALITY);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static void recordOperation(Timer timer, long start) {
+        long elapsed = System.nanoTime() - start;
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+        RequestTrace.recordImage(elapsed);
+    }
+
+    private static Timer operationTimer(String operation) {
+        return Timer.builder("student.image.operation")
+                .description("Time spent in one image processing step")
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry);
+    }
 }
@@ -0,0 +1,17 @@
+package com.example.student_api.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that reports every prepared statement to QueryCounter
+ * Registered through hibernate.session_factory.statement_inspector; the SQL is not changed.
+ * Batched inserts and updates are counted once per prepared batch statement.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.student_api.util;
+
+import com.example.student_api.exception.QueryBudgetExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts SQL statements prepared on the current thread
+ * Statements are reported by QueryCountInspector and counted in every open scope, so a test can
+ * wrap a request that opens its own scope. A scope with a budget logs or fails once it is
+ * exceeded. Threads without an open scope are not counted.
+ */
+public final class QueryCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCounter.class);
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * What happens when a scope exceeds its budget
+     */
+    public enum Mode {
+        LOG,
+        FAIL
+    }
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Open a scope without a budget
+     *
+     * @param name Scope name used in messages
+     * @return The scope; close it on the same thread
+     */
+    public static Scope start(String name) {
+        return start(name, Integer.MAX_VALUE, Mode.LOG);
+    }
+
+    /**
+     * Open a scope with a statement budget
+     *
+     * @param name Scope name used in messages, e.g. the request
+     * @param budget Maximum number of statements
+     * @param mode Whether exceeding the budget is logged or fails the statement
+     * @return The scope; close it on the same thread
+     */
+    public static Scope start(String name, int budget, Mode mode) {
+        Scope scope = new Scope(name, budget, mode, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Count a statement in every open scope on this thread
+     *
+     * @param sql The statement
+     * @throws QueryBudgetExceededException if a scope in FAIL mode exceeds its budget
+     */
+    public static void record(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.increment(sql);
+        }
+    }
+
+    /**
+     * Statement count for one request, transaction or test block
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final String name;
+        private final int budget;
+        private final Mode mode;
+        private final Scope parent;
+        private int count;
+
+        private Scope(String name, int budget, Mode mode, Scope parent) {
+            this.name = name;
+            this.budget = budget;
+            this.mode = mode;
+            this.parent = parent;
+        }
+
+        private void increment(String sql) {
+            count++;
+            if (count <= budget) {
+                return;
+            }
+            if (mode == Mode.FAIL) {
+                throw new QueryBudgetExceededException(name, budget, sql);
+            }
+            if (count == budget + 1) {
+                logger.warn("{} executed more than {} SQL statements, latest: {}", name, budget, sql);
+            }
+        }
+
+        /**
+         * @return Statements counted so far
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return Statement budget, Integer.MAX_VALUE if unlimited
+         */
+        public int getBudget() {
+            return budget;
+        }
+
+        /**
+         * Close the scope, making its parent current again
+         */
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent != null) {
+                    CURRENT.set(parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.student_api.util;
+
+/**
+ * Time and volume counters for the request running on the current thread
+ * Only sampled requests carry a trace; everywhere else the static recorders are a thread-local
+ * read and a null check. Counters are plain fields because a trace is only touched by the thread
+ * that started it. Work done on other threads, such as the image pool, is accounted for by the
+ * request thread waiting for it.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private long dbNanos;
+    private int statements;
+    private long rows;
+    private long dbBytes;
+    private long imageNanos;
+    private long serializationNanos;
+    private long responseBytes;
+
+    private RequestTrace() {
+    }
+
+    /**
+     * Start tracing the current thread
+     *
+     * @return The new trace
+     */
+    public static RequestTrace start() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Stop tracing the current thread
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return The current thread's trace, or null if it is not traced
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Add image processing time to the current trace, if any
+     *
+     * @param nanos Elapsed time
+     */
+    public static void recordImage(long nanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.imageNanos += nanos;
+        }
+    }
+
+    /**
+     * Add a serialized response body to the current trace, if any
+     *
+     * @param nanos Time spent serializing
+     * @param bytes Bytes written
+     */
+    public static void recordSerialization(long nanos, long bytes) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.serializationNanos += nanos;
+            trace.responseBytes += bytes;
+        }
+    }
+
+    /**
+     * Add an executed SQL statement or batch
+     *
+     * @param nanos Execution time
+     */
+    public void recordStatement(long nanos) {
+        statements++;
+        dbNanos += nanos;
+    }
+
+    /**
+     * Add time spent moving a result set cursor
+     *
+     * @param nanos Time spent fetching
+     * @param row Whether the cursor moved to a row
+     */
+    public void recordFetch(long nanos, boolean row) {
+        dbNanos += nanos;
+        if (row) {
+            rows++;
+        }
+    }
+
+    /**
+     * Add column data read from a result set
+     *
+     * @param bytes Approximate size of the value
+     */
+    public void recordBytes(long bytes) {
+        dbBytes += bytes;
+    }
+
+    // Getters
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbBytes() {
+        return dbBytes;
+    }
+
+    public long getImageNanos() {
+        return imageNanos;
+    }
+
+    public long getSerializationNanos() {
+        return serializationNanos;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+}
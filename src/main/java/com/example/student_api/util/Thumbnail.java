@@ -0,0 +1,35 @@
+package com.example.student_api.util;
+
+/**
+ * Precomputed thumbnail of a student photo
+ * Holds the resized image bytes, their dimensions and the hash of the original photo
+ */
+public class Thumbnail {
+    private final byte[] data;
+    private final int width;
+    private final int height;
+    private final String contentHash;
+
+    public Thumbnail(byte[] data, int width, int height, String contentHash) {
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.contentHash = contentHash;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.student_api.util;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource that attributes JDBC work to the current RequestTrace
+ * Connections checked out by a traced request are wrapped so statement execution time, row
+ * fetches and column bytes are counted. Untraced requests get the pooled connection unchanged.
+ * Column bytes are approximate: strings count one byte per character.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    public TracingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, new ConnectionHandler(connection, trace));
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Proxies compare by identity, so pools and registries keyed by them keep working
+    private static Object invokeObjectMethod(Object proxy, Object target, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> target.toString();
+        };
+    }
+
+    /**
+     * Wraps statements created from a traced connection
+     */
+    private record ConnectionHandler(Connection target, RequestTrace trace) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, target, method, args);
+            }
+            Object result = TracingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return proxy(method.getReturnType(), statement, new StatementHandler(statement, trace));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Times statement execution and wraps the result sets it returns
+     */
+    private record StatementHandler(Statement target, RequestTrace trace) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, target, method, args);
+            }
+            if (!method.getName().startsWith("execute")) {
+                return wrapResultSet(TracingDataSource.invoke(target, method, args), method, trace);
+            }
+            long start = System.nanoTime();
+            try {
+                return wrapResultSet(TracingDataSource.invoke(target, method, args), method, trace);
+            } finally {
+                trace.recordStatement(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static Object wrapResultSet(Object result, Method method, RequestTrace trace) {
+        if (result instanceof ResultSet resultSet && method.getReturnType() == ResultSet.class) {
+            return proxy(ResultSet.class, resultSet, new ResultSetHandler(resultSet, trace));
+        }
+        return result;
+    }
+
+    /**
+     * Counts fetched rows, fetch time and the size of variable length columns
+     */
+    private record ResultSetHandler(ResultSet target, RequestTrace trace) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, target, method, args);
+            }
+            if (method.getName().equals("next")) {
+                long start = System.nanoTime();
+                boolean row = (Boolean) TracingDataSource.invoke(target, method, args);
+                trace.recordFetch(System.nanoTime() - start, row);
+                return row;
+            }
+            Object result = TracingDataSource.invoke(target, method, args);
+            if (result instanceof byte[] bytes) {
+                trace.recordBytes(bytes.length);
+            } else if (result instanceof String string) {
+                trace.recordBytes(string.length());
+            } else if (result instanceof Blob blob) {
+                trace.recordBytes(blob.length());
+            } else if (result instanceof Clob clob) {
+                trace.recordBytes(clob.length());
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.student_api.web;
+
+/**
+ * Serialized response body stored by the response cache
+ */
+public class CachedResponse {
+    private final byte[] body;
+    private final String contentType;
+
+    public CachedResponse(byte[] body, String contentType) {
+        this.body = body;
+        this.contentType = contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.student_api.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+import org.springframework.web.servlet.resource.ResourceTransformerSupport;
+import org.springframework.web.servlet.resource.TransformedResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites local src and href links in HTML pages to their content-hashed URLs
+ * The HTML counterpart of Spring's CssLinkResourceTransformer: pages themselves are revalidated on
+ * every load, while the versioned scripts and stylesheets they link can be cached indefinitely.
+ * External and fragment links are left unchanged.
+ */
+public class HtmlLinkResourceTransformer extends ResourceTransformerSupport {
+
+    private static final Pattern LINK_PATTERN = Pattern.compile("\\b(?:src|href)=\"([^\"]+)\"");
+
+    @Override
+    public Resource transform(HttpServletRequest request, Resource resource, ResourceTransformerChain transformerChain)
+            throws IOException {
+        resource = transformerChain.transform(request, resource);
+        String filename = resource.getFilename();
+        if (filename == null || !filename.endsWith(".html")) {
+            return resource;
+        }
+
+        String content = resource.getContentAsString(StandardCharsets.UTF_8);
+        Matcher matcher = LINK_PATTERN.matcher(content);
+        StringBuilder result = new StringBuilder(content.length());
+        while (matcher.find()) {
+            String link = matcher.group(1);
+            // Resolved as absolute paths, so the versioned URL comes from the handler serving the asset
+            String resolved = isLocal(link)
+                    ? resolveUrlPath(toAbsolutePath(link, request), request, resource, transformerChain)
+                    : null;
+            String replacement = resolved != null ? matcher.group().replace(link, resolved) : matcher.group();
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return new TransformedResource(resource, result.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isLocal(String link) {
+        return !link.contains(":") && !link.startsWith("//") && !link.startsWith("#");
+    }
+}
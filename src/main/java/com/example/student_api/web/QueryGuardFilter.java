@@ -0,0 +1,62 @@
+package com.example.student_api.web;
+
+import com.example.student_api.util.QueryCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Puts a budget on the number of SQL statements a single API request may run
+ * A request over budget usually means an N+1 query, e.g. a lazy association loaded per student.
+ * In log mode the first statement over budget is logged with the request; in fail mode it throws,
+ * which is how the tests use it. Bulk endpoints are exempt since their statement count grows with
+ * the number of items. Work handed to other threads, such as exports and import jobs, is not counted.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 3)
+@ConditionalOnProperty(name = "student.query-guard.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryGuardFilter extends OncePerRequestFilter {
+
+    private static final String GUARDED_PATH_PREFIX = "/api/";
+
+    private final int maxStatements;
+    private final QueryCounter.Mode mode;
+    private final List<String> exemptPaths;
+
+    @Autowired
+    public QueryGuardFilter(@Value("${student.query-guard.max-statements:20}") int maxStatements,
+                            @Value("${student.query-guard.mode:log}") String mode,
+                            @Value("${student.query-guard.exempt-paths:/api/students/bulk}") String[] exemptPaths) {
+        this.maxStatements = maxStatements;
+        this.mode = QueryCounter.Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.exemptPaths = Arrays.asList(exemptPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith(GUARDED_PATH_PREFIX) || exemptPaths.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String name = request.getMethod() + " " + request.getRequestURI();
+        try (QueryCounter.Scope ignored = QueryCounter.start(name, maxStatements, mode)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
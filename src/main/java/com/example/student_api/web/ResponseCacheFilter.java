@@ -0,0 +1,139 @@
+package com.example.student_api.web;
+
+import com.example.student_api.config.CacheConfig;
+import com.example.student_api.service.StudentWriteVersion;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of serialized JSON for hot student list, page and search requests
+ * A hit writes the stored bytes straight to the response without running the query or Jackson.
+ * Keys include the student write version, so every committed write makes all entries unreachable;
+ * they then age out under the byte budget or TTL. Requests with unknown parameters are not cached.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnProperty(name = "student.response-cache.enabled", havingValue = "true")
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String CACHE_HEADER = "X-Cache";
+    private static final Set<String> CACHED_PATHS = Set.of(
+            "/api/students", "/api/students/paged", "/api/students/search", "/api/students/search/paged");
+    // Parameters that select the response, in key order
+    private static final List<String> KEY_PARAMETERS = List.of("name", "page", "size", "photos", "fields");
+
+    private final Cache cache;
+    private final StudentWriteVersion writeVersion;
+    private final long maxEntryBytes;
+
+    @Autowired
+    public ResponseCacheFilter(CacheManager cacheManager,
+                               StudentWriteVersion writeVersion,
+                               @Value("${student.response-cache.max-entry-bytes:1MB}") DataSize maxEntryBytes) {
+        this.cache = cacheManager.getCache(CacheConfig.RESPONSES_CACHE);
+        this.writeVersion = writeVersion;
+        this.maxEntryBytes = maxEntryBytes.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return cache == null
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !CACHED_PATHS.contains(pathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = cacheKey(request);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CachedResponse cached = cache.get(key, CachedResponse.class);
+        if (cached != null) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(cached.getContentType());
+            response.setContentLength(cached.getBody().length);
+            response.setHeader(CACHE_HEADER, "HIT");
+            response.getOutputStream().write(cached.getBody());
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        responseWrapper.setHeader(CACHE_HEADER, "MISS");
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (isCacheable(responseWrapper)) {
+                cache.put(key, new CachedResponse(responseWrapper.getContentAsByteArray(),
+                        responseWrapper.getContentType()));
+            }
+        } finally {
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Build the cache key for a request
+     * The write version is read before the request runs, so a response built from data that a
+     * concurrent write has since replaced is stored under a version no later request will use.
+     *
+     * @param request HTTP request
+     * @return Cache key, or null if the request should bypass the cache
+     */
+    private String cacheKey(HttpServletRequest request) {
+        Map<String, String[]> parameters = request.getParameterMap();
+        StringBuilder key = new StringBuilder()
+                .append(writeVersion.current())
+                .append('|').append(pathWithinApplication(request))
+                .append('|').append(request.getHeader(HttpHeaders.ACCEPT));
+        int used = 0;
+        for (String name : KEY_PARAMETERS) {
+            String[] values = parameters.get(name);
+            if (values == null) {
+                continue;
+            }
+            if (values.length != 1) {
+                return null;
+            }
+            key.append('|').append(name).append('=').append(values[0]);
+            used++;
+        }
+        return used == parameters.size() ? key.toString() : null;
+    }
+
+    private boolean isCacheable(ContentCachingResponseWrapper response) {
+        if (response.getStatus() != HttpStatus.OK.value() || response.getContentSize() > maxEntryBytes) {
+            return false;
+        }
+        String contentType = response.getContentType();
+        return contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON);
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.student_api.web;
+
+import com.example.student_api.dto.SlowRequestsDTO;
+import com.example.student_api.service.SlowRequestLog;
+import com.example.student_api.util.RequestTrace;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs student API requests that exceed the slow request threshold
+ * Every request is timed; a sampled fraction also carries a RequestTrace that breaks the time
+ * down into database, image and serialization work. Runs outside the response cache and the
+ * concurrency limit, so the total includes time spent waiting for a permit.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+@ConditionalOnProperty(name = "student.slow-requests.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowRequestFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowRequestFilter.class);
+    private static final String TRACED_PATH_PREFIX = "/api/students";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final SlowRequestLog slowRequestLog;
+    private final long thresholdNanos;
+
+    @Autowired
+    public SlowRequestFilter(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+        this.thresholdNanos = slowRequestLog.getThreshold().toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().substring(request.getContextPath().length()).startsWith(TRACED_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTrace trace = ThreadLocalRandom.current().nextDouble() < slowRequestLog.getSampleRate()
+                ? RequestTrace.start() : null;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (trace != null) {
+                RequestTrace.end();
+            }
+            if (elapsed >= thresholdNanos) {
+                if (trace != null) {
+                    record(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                            elapsed, trace);
+                } else {
+                    slowRequestLog.recordUnsampled();
+                }
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long elapsed, RequestTrace trace) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        SlowRequestsDTO.SlowRequest slowRequest = new SlowRequestsDTO.SlowRequest(Instant.now(),
+                request.getMethod(), request.getRequestURI(), request.getQueryString(),
+                pattern != null ? pattern.toString() : null, status,
+                elapsed / NANOS_PER_MILLI, trace.getDbNanos() / NANOS_PER_MILLI, trace.getStatements(),
+                trace.getRows(), trace.getDbBytes(), trace.getImageNanos() / NANOS_PER_MILLI,
+                trace.getSerializationNanos() / NANOS_PER_MILLI, trace.getResponseBytes());
+        slowRequestLog.record(slowRequest);
+        logger.info("Slow request {} {} took {} ms: db {} ms in {} statements, {} rows; image {} ms; "
+                        + "serialization {} ms, {} bytes",
+                slowRequest.getMethod(), slowRequest.getPath(), Math.round(slowRequest.getTotalMillis()),
+                Math.round(slowRequest.getDbMillis()), slowRequest.getStatements(), slowRequest.getRows(),
+                Math.round(slowRequest.getImageMillis()), Math.round(slowRequest.getSerializationMillis()),
+                slowRequest.getResponseBytes());
+    }
+}
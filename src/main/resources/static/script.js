@@ -42,10 +42,11 @@ const studentTableBody = document.getElementById('studentTableBody');
 const searchInput = document.getElementById('searchInput');
 const searchBtn = document.getElementById('searchBtn');
 const clearSearchBtn = document.getElementById('clearSearchBtn');
+const nameSuggestions = document.getElementById('nameSuggestions');
 const paginationContainer = document.getElementById('paginationContainer');
 
 // Photo variables
-let currentPhotoBase64 = null;
+let currentPhotoFile = null;
 
 // Pagination variables
 let currentPage = 0;
@@ -53,6 +54,10 @@ let totalPages = 0;
 let pageSize = 5;
 let currentSearchTerm = '';
 
+// Typeahead variables
+const SUGGEST_DELAY_MS = 150;
+let suggestTimer = null;
+
 // Store all students for client-side pagination
 let allLoadedStudents = [];
 let filteredStudents = [];
@@ -65,6 +70,7 @@ studentForm.addEventListener('submit', saveStudent);
 cancelBtn.addEventListener('click', resetForm);
 searchBtn.addEventListener('click', searchStudents);
 clearSearchBtn.addEventListener('click', clearSearch);
+searchInput.addEventListener('input', scheduleSuggestions);
 photoInput.addEventListener('change', handlePhotoChange);
 removePhotoBtn.addEventListener('click', removePhoto);
 
@@ -80,8 +86,8 @@ function loadStudents(page = 0) {
         currentPage = page;
         currentSearchTerm = '';
 
-        // Get all students
-        fetch(`${API_URL}`, {
+        // Get all students, with photos linked by URL so the browser can cache them
+        fetch(`${API_URL}?photos=url`, {
             method: 'GET',
             headers: {
                 'Accept': 'application/json',
@@ -140,7 +146,7 @@ function searchStudents() {
     // Show loading indicator
     studentTableBody.innerHTML = '<tr><td colspan="6" class="text-center">Searching...</td></tr>';
 
-    fetch(`${API_URL}/search?name=${encodeURIComponent(searchTerm)}`, {
+    fetch(`${API_URL}/search?name=${encodeURIComponent(searchTerm)}&photos=url`, {
         method: 'GET',
         headers: {
             'Accept': 'application/json'
@@ -186,6 +192,45 @@ function searchStudents() {
     });
 }
 
+/**
+ * Debounce typeahead requests while the user is typing
+ */
+function scheduleSuggestions() {
+    clearTimeout(suggestTimer);
+    suggestTimer = setTimeout(loadSuggestions, SUGGEST_DELAY_MS);
+}
+
+/**
+ * Load name suggestions for the current search text
+ */
+function loadSuggestions() {
+    const text = searchInput.value.trim();
+    if (!text) {
+        nameSuggestions.innerHTML = '';
+        return;
+    }
+
+    fetch(`${API_URL}/suggest?q=${encodeURIComponent(text)}&limit=8`, {
+        headers: {
+            'Accept': 'application/json'
+        }
+    })
+    .then(response => response.ok ? response.json() : null)
+    .then(apiResponse => {
+        // Ignore responses for text the user has already changed
+        if (!apiResponse || !apiResponse.success || searchInput.value.trim() !== text) {
+            return;
+        }
+        nameSuggestions.innerHTML = '';
+        (apiResponse.data || []).forEach(suggestion => {
+            const option = document.createElement('option');
+            option.value = suggestion.name;
+            nameSuggestions.appendChild(option);
+        });
+    })
+    .catch(error => console.error('Error loading suggestions:', error));
+}
+
 function updatePagination(currentPage, totalPages) {
     paginationContainer.innerHTML = '';
 
@@ -297,7 +342,9 @@ function displayStudents(students) {
 
             // Create photo cell content
             let photoCell = 'No Photo';
-            if (student.photoBase64) {
+            if (student.photoUrl) {
+                photoCell = `<img src="${student.photoUrl}" class="img-thumbnail" style="max-height: 50px; max-width: 50px;" alt="Student Photo" loading="lazy">`;
+            } else if (student.photoBase64) {
                 try {
                     // Limit the size of the base64 string for better performance
                     const maxLength = 100000; // Limit to 100KB
@@ -376,8 +423,7 @@ function saveStudent(e) {
         const student = {
             name: nameInput.value.trim(),
             birthDate: birthDateInput.value,
-            mobileNo: mobileNoInput.value.trim(),
-            photoBase64: currentPhotoBase64
+            mobileNo: mobileNoInput.value.trim()
         };
 
         // Validate required fields
@@ -400,18 +446,44 @@ function saveStudent(e) {
         showAlert('Saving student...', 'info');
 
         const id = studentId.value;
-        const method = id ? 'PUT' : 'POST';
-        const url = id ? `${API_URL}/${id}` : API_URL;
 
-        console.log(`Saving student with method ${method} to ${url}`, student);
+        console.log(id ? `Updating student ${id}` : 'Creating student', student);
+
+        // Photos are sent as multipart file parts rather than Base64 inside the JSON body
+        let request;
+        if (id) {
+            request = fetch(`${API_URL}/${id}`, {
+                method: 'PUT',
+                headers: {
+                    'Content-Type': 'application/json'
+                },
+                body: JSON.stringify(student)
+            })
+            .then(response => {
+                if (!response.ok || !currentPhotoFile) {
+                    return response;
+                }
+                return uploadPhoto(id, currentPhotoFile);
+            });
+        } else if (currentPhotoFile) {
+            const formData = new FormData();
+            formData.append('student', new Blob([JSON.stringify(student)], { type: 'application/json' }));
+            formData.append('photo', currentPhotoFile);
+            request = fetch(API_URL, {
+                method: 'POST',
+                body: formData
+            });
+        } else {
+            request = fetch(API_URL, {
+                method: 'POST',
+                headers: {
+                    'Content-Type': 'application/json'
+                },
+                body: JSON.stringify(student)
+            });
+        }
 
-        fetch(url, {
-            method: method,
-            headers: {
-                'Content-Type': 'application/json'
-            },
-            body: JSON.stringify(student)
-        })
+        request
         .then(response => {
             console.log('Save response status:', response.status);
             if (!response.ok) {
@@ -439,15 +511,31 @@ function saveStudent(e) {
     }
 }
 
+/**
+ * Upload a photo file for an existing student
+ * @param {number} id - Student ID
+ * @param {File} file - Photo file
+ * @returns {Promise<Response>} Upload response
+ */
+function uploadPhoto(id, file) {
+    const formData = new FormData();
+    formData.append('photo', file);
+    return fetch(`${API_URL}/${id}/photo`, {
+        method: 'PUT',
+        body: formData
+    });
+}
+
 function editStudent(id) {
-    fetch(`${API_URL}/${id}`)
+    fetch(`${API_URL}/${id}?photos=url`)
         .then(response => {
             if (!response.ok) {
                 throw new Error(`HTTP error! Status: ${response.status}`);
             }
             return response.json();
         })
-        .then(student => {
+        .then(apiResponse => {
+            const student = apiResponse?.data;
             if (!student || !student.id) {
                 throw new Error('Invalid student data received');
             }
@@ -458,19 +546,12 @@ function editStudent(id) {
             birthDateInput.value = student.birthDate ? formatDateForInput(student.birthDate) : '';
             mobileNoInput.value = student.mobileNo || '';
 
-            // Handle photo
-            if (student.photoBase64) {
-                try {
-                    currentPhotoBase64 = student.photoBase64;
-                    photoPreview.src = `data:image/jpeg;base64,${student.photoBase64}`;
-                    photoPreviewContainer.classList.remove('d-none');
-                } catch (error) {
-                    console.error('Error setting photo preview:', error);
-                    currentPhotoBase64 = null;
-                    photoPreviewContainer.classList.add('d-none');
-                }
+            // Handle photo; the existing photo is kept unless a new file is chosen
+            currentPhotoFile = null;
+            if (student.photoUrl) {
+                photoPreview.src = student.photoUrl;
+                photoPreviewContainer.classList.remove('d-none');
             } else {
-                currentPhotoBase64 = null;
                 photoPreviewContainer.classList.add('d-none');
             }
 
@@ -526,27 +607,22 @@ function resetForm() {
     studentId.value = '';
     formTitle.textContent = 'Add New Student';
     saveBtn.textContent = 'Save';
-    currentPhotoBase64 = null;
+    currentPhotoFile = null;
     photoPreviewContainer.classList.add('d-none');
 }
 
 function handlePhotoChange(e) {
     const file = e.target.files[0];
     if (file) {
-        const reader = new FileReader();
-        reader.onload = function(event) {
-            const base64String = event.target.result.split(',')[1];
-            currentPhotoBase64 = base64String;
-            photoPreview.src = event.target.result;
-            photoPreviewContainer.classList.remove('d-none');
-        };
-        reader.readAsDataURL(file);
+        currentPhotoFile = file;
+        photoPreview.src = URL.createObjectURL(file);
+        photoPreviewContainer.classList.remove('d-none');
     }
 }
 
 function removePhoto() {
     photoInput.value = '';
-    currentPhotoBase64 = null;
+    currentPhotoFile = null;
     photoPreviewContainer.classList.add('d-none');
 }
 
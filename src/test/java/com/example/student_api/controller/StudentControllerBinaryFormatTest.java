@@ -0,0 +1,114 @@
+package com.example.student_api.controller;
+
+import com.example.student_api.dto.StudentDTO;
+import com.example.student_api.repository.StudentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static com.example.student_api.util.StudentFixtures.createOnlyStudent;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * CBOR and Smile content negotiation on /api/students
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentControllerBinaryFormatTest {
+
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MappingJackson2CborHttpMessageConverter cborConverter;
+
+	@Autowired
+	private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+	private Long id;
+
+	@BeforeEach
+	void createStudent() {
+		id = createOnlyStudent(studentRepository, "Binary Student");
+	}
+
+	@Test
+	void getStudentAsCbor() throws Exception {
+		byte[] body = mockMvc.perform(get("/api/students/{id}", id).accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+				.andReturn().getResponse().getContentAsByteArray();
+		JsonNode data = cborConverter.getObjectMapper().readTree(body).get("data");
+		assertEquals("Binary Student", data.get("name").asText());
+		assertEquals("2001-02-03", data.get("birthDate").asText());
+	}
+
+	@Test
+	void anyAcceptStillGetsJson() throws Exception {
+		mockMvc.perform(get("/api/students/{id}", id).accept(MediaType.ALL))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void updateStudentFromSmile() throws Exception {
+		StudentDTO studentDTO = new StudentDTO(null, "Smile Student", LocalDate.of(2001, 2, 3), "0400123456", null);
+		mockMvc.perform(put("/api/students/{id}", id)
+						.contentType(SMILE)
+						.accept(SMILE)
+						.content(smileConverter.getObjectMapper().writeValueAsBytes(studentDTO)))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(SMILE));
+		mockMvc.perform(get("/api/students/{id}", id))
+				.andExpect(jsonPath("$.data.name").value("Smile Student"));
+	}
+
+	@Test
+	void photoIsRawBytesInCborAndBase64InJson() throws Exception {
+		byte[] photo = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x00, 0x10, 0x4A, 0x46, 0x49, 0x46};
+		StudentDTO studentDTO = new StudentDTO(id, "Binary Student", LocalDate.of(2001, 2, 3), "0400123456", photo);
+
+		ObjectMapper cborMapper = cborConverter.getObjectMapper();
+		byte[] cbor = cborMapper.writeValueAsBytes(studentDTO);
+		JsonNode photoNode = cborMapper.readTree(cbor).get("photoBase64");
+		assertTrue(photoNode.isBinary());
+		assertArrayEquals(photo, photoNode.binaryValue());
+		assertArrayEquals(photo, cborMapper.readValue(cbor, StudentDTO.class).getPhotoBase64());
+
+		JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(studentDTO));
+		assertEquals(Base64.getEncoder().encodeToString(photo), json.get("photoBase64").asText());
+		assertArrayEquals(photo, objectMapper.readValue(json.toString(), StudentDTO.class).getPhotoBase64());
+	}
+}
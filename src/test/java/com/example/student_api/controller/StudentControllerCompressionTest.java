@@ -0,0 +1,79 @@
+package com.example.student_api.controller;
+
+import com.example.student_api.repository.StudentRepository;
+import com.example.student_api.service.PhotoUpload;
+import com.example.student_api.service.StudentPhotoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Random;
+
+import static com.example.student_api.util.StudentFixtures.createOnlyStudent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Response compression of GET /api/students/{id} by the embedded server
+ * Uses a plain HttpClient, which neither decompresses nor drops Content-Encoding
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class StudentControllerCompressionTest {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private StudentPhotoService studentPhotoService;
+
+	private Long id;
+
+	@BeforeEach
+	void createStudentWithPhoto() throws Exception {
+		id = createOnlyStudent(studentRepository, "Compressed Student");
+		// An inline thumbnail takes the body past server.compression.min-response-size
+		PhotoUpload upload = studentPhotoService.preparePhoto(noisePng(200, 200));
+		studentPhotoService.savePhoto(id, upload.photo(), upload.thumbnail());
+	}
+
+	@Test
+	void studentWithETagIsGzipped() throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/students/" + id))
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+				.build();
+		HttpResponse<byte[]> response = HttpClient.newHttpClient()
+				.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+		assertEquals(200, response.statusCode());
+		assertTrue(response.headers().firstValue(HttpHeaders.ETAG).orElseThrow().startsWith("W/"));
+		assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+	}
+
+	private static byte[] noisePng(int width, int height) throws Exception {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Random random = new Random(42);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				image.setRGB(x, y, random.nextInt(0x1000000));
+			}
+		}
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", output);
+		return output.toByteArray();
+	}
+}
@@ -0,0 +1,152 @@
+package com.example.student_api.controller;
+
+import com.example.student_api.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.student_api.util.StudentFixtures.createOnlyStudent;
+import static com.example.student_api.util.StudentFixtures.studentJson;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag handling of GET and PUT /api/students/{id}
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentControllerConditionalRequestTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	private Long id;
+
+	@BeforeEach
+	void createStudent() {
+		id = createOnlyStudent(studentRepository, "Conditional Student");
+	}
+
+	@Test
+	void unchangedStudentIsNotModified() throws Exception {
+		String etag = getETag();
+		mockMvc.perform(get("/api/students/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void etagIsWeak() throws Exception {
+		assertTrue(getETag().startsWith("W/\""));
+	}
+
+	@Test
+	void updateWithCurrentETagChangesIt() throws Exception {
+		String etag = getETag();
+		String updatedETag = mockMvc.perform(put("/api/students/{id}", id)
+						.header(HttpHeaders.IF_MATCH, etag)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(studentJson("Renamed Student")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(etag, updatedETag);
+		mockMvc.perform(get("/api/students/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, updatedETag));
+	}
+
+	@Test
+	void updateWithStaleETagFails() throws Exception {
+		String etag = getETag();
+		mockMvc.perform(put("/api/students/{id}", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(studentJson("First Writer")))
+				.andExpect(status().isOk());
+		mockMvc.perform(put("/api/students/{id}", id)
+						.header(HttpHeaders.IF_MATCH, etag)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(studentJson("Second Writer")))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void updateMatchingAnyListedETagSucceeds() throws Exception {
+		String etag = getETag();
+		mockMvc.perform(put("/api/students/{id}", id)
+						.header(HttpHeaders.IF_MATCH, "\"999\", " + etag)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(studentJson("Listed Writer")))
+				.andExpect(status().isOk());
+		mockMvc.perform(put("/api/students/{id}", id)
+						.header(HttpHeaders.IF_MATCH, "\"999\", " + etag)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(studentJson("Stale Writer")))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void minimalPatchReturnsOnlyETag() throws Exception {
+		String etag = getETag();
+		String patchedETag = mockMvc.perform(patch("/api/students/{id}", id)
+						.header(HttpHeaders.IF_MATCH, etag)
+						.header("Prefer", "return=minimal")
+						.contentType("application/merge-patch+json")
+						.content("{\"mobileNo\":\"0400999999\"}"))
+				.andExpect(status().isNoContent())
+				.andExpect(header().string("Preference-Applied", "return=minimal"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(etag, patchedETag);
+		mockMvc.perform(get("/api/students/{id}", id))
+				.andExpect(jsonPath("$.data.name").value("Conditional Student"))
+				.andExpect(jsonPath("$.data.mobileNo").value("0400999999"));
+	}
+
+	@Test
+	void patchRemovingRequiredFieldFails() throws Exception {
+		mockMvc.perform(patch("/api/students/{id}", id)
+						.contentType("application/merge-patch+json")
+						.content("{\"name\":null}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void patchWithInvalidPhotoFails() throws Exception {
+		mockMvc.perform(patch("/api/students/{id}", id)
+						.contentType("application/merge-patch+json")
+						.content("{\"photoBase64\":\"not base64!\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.data.photoBase64").exists());
+	}
+
+	@Test
+	void patchWithPhotoThatIsNotAnImageFails() throws Exception {
+		mockMvc.perform(patch("/api/students/{id}", id)
+						.contentType("application/merge-patch+json")
+						.content("{\"photoBase64\":\"bm90IGFuIGltYWdl\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.data.photo").exists());
+	}
+
+	private String getETag() throws Exception {
+		return mockMvc.perform(get("/api/students/{id}", id))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+}
@@ -0,0 +1,154 @@
+package com.example.student_api.controller;
+
+import com.example.student_api.model.Student;
+import com.example.student_api.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.student_api.util.QueryCountAssertions.assertMaxQueries;
+import static com.example.student_api.util.QueryCountAssertions.countQueries;
+import static com.example.student_api.util.StudentFixtures.studentJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the number of SQL statements each student endpoint runs
+ * Upper bounds catch extra queries; comparing few and many students catches queries per student.
+ * The query guard runs in fail mode in the test profile, so any request over budget fails too.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentControllerQueryCountTest {
+
+	private static final int FEW = 3;
+	private static final int MANY = 30;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@BeforeEach
+	void clearStudents() {
+		studentRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void listRunsConstantQueries() throws Exception {
+		seed(FEW);
+		int few = assertMaxQueries(3, () -> mockMvc.perform(get("/api/students")).andExpect(status().isOk()));
+		seed(MANY - FEW);
+		int many = countQueries(() -> mockMvc.perform(get("/api/students")).andExpect(status().isOk()));
+		assertEquals(few, many);
+	}
+
+	@Test
+	void pagedListRunsConstantQueries() throws Exception {
+		seed(FEW);
+		int few = assertMaxQueries(4, () -> mockMvc.perform(get("/api/students/paged").param("size", "2"))
+				.andExpect(status().isOk()));
+		seed(MANY - FEW);
+		int many = countQueries(() -> mockMvc.perform(get("/api/students/paged").param("size", "20"))
+				.andExpect(status().isOk()));
+		assertEquals(few, many);
+	}
+
+	@Test
+	void searchRunsConstantQueries() throws Exception {
+		seed(FEW);
+		int few = assertMaxQueries(3, () -> mockMvc.perform(get("/api/students/search").param("name", "Student"))
+				.andExpect(status().isOk()));
+		seed(MANY - FEW);
+		int many = countQueries(() -> mockMvc.perform(get("/api/students/search").param("name", "Student"))
+				.andExpect(status().isOk()));
+		assertEquals(few, many);
+	}
+
+	@Test
+	void pagedSearchRunsConstantQueries() throws Exception {
+		seed(FEW);
+		int few = assertMaxQueries(4, () -> mockMvc.perform(get("/api/students/search/paged")
+				.param("name", "Student").param("size", "2")).andExpect(status().isOk()));
+		seed(MANY - FEW);
+		int many = countQueries(() -> mockMvc.perform(get("/api/students/search/paged")
+				.param("name", "Student").param("size", "20")).andExpect(status().isOk()));
+		assertEquals(few, many);
+	}
+
+	@Test
+	void sparseListSkipsPhotoQueries() throws Exception {
+		seed(FEW);
+		int full = countQueries(() -> mockMvc.perform(get("/api/students")).andExpect(status().isOk()));
+		int sparse = assertMaxQueries(1, () -> mockMvc.perform(get("/api/students").param("fields", "id,name"))
+				.andExpect(status().isOk()));
+		assertTrue(sparse < full);
+	}
+
+	@Test
+	void getByIdRunsFewQueries() throws Exception {
+		Long id = seed(1).get(0).getId();
+		assertMaxQueries(3, () -> mockMvc.perform(get("/api/students/{id}", id)).andExpect(status().isOk()));
+	}
+
+	@Test
+	void createRunsFewQueries() throws Exception {
+		assertMaxQueries(4, () -> mockMvc.perform(post("/api/students")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(studentJson("New Student")))
+				.andExpect(status().isCreated()));
+	}
+
+	@Test
+	void updateRunsFewQueries() throws Exception {
+		Long id = seed(1).get(0).getId();
+		assertMaxQueries(5, () -> mockMvc.perform(put("/api/students/{id}", id)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(studentJson("Renamed Student")))
+				.andExpect(status().isOk()));
+	}
+
+	@Test
+	void patchRunsFewQueries() throws Exception {
+		Long id = seed(1).get(0).getId();
+		assertMaxQueries(3, () -> mockMvc.perform(patch("/api/students/{id}", id)
+				.contentType("application/merge-patch+json")
+				.content("{\"mobileNo\":\"0400999999\"}"))
+				.andExpect(status().isOk()));
+	}
+
+	@Test
+	void deleteRunsFewQueries() throws Exception {
+		Long id = seed(1).get(0).getId();
+		assertMaxQueries(6, () -> mockMvc.perform(delete("/api/students/{id}", id)).andExpect(status().isOk()));
+	}
+
+	private List<Student> seed(int count) {
+		List<Student> students = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Student student = new Student();
+			student.setName("Student " + i);
+			student.setBirthDate(LocalDate.of(2000, 1, 1).plusDays(i));
+			student.setMobileNo("0400" + String.format("%06d", i));
+			students.add(student);
+		}
+		return studentRepository.saveAll(students);
+	}
+}
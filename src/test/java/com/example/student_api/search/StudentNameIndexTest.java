@@ -0,0 +1,126 @@
+package com.example.student_api.search;
+
+import com.example.student_api.dto.SuggestionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ranking, edit distance and change tracking of the in-memory name index
+ */
+class StudentNameIndexTest {
+
+	private static StudentNameIndex index(int maxResults) {
+		return new StudentNameIndex(null, true, true, 20000, maxResults);
+	}
+
+	@Test
+	void editDistanceCountsEditsAndTranspositions() {
+		assertEquals(0, StudentNameIndex.editDistance("john", "john", 2));
+		assertEquals(1, StudentNameIndex.editDistance("jon", "john", 2));
+		assertEquals(1, StudentNameIndex.editDistance("jonh", "john", 2));
+		assertEquals(1, StudentNameIndex.editDistance("jhon", "john", 2));
+	}
+
+	@Test
+	void editDistanceStopsAboveTheBound() {
+		assertEquals(2, StudentNameIndex.editDistance("abc", "abcdef", 1));
+		assertEquals(2, StudentNameIndex.editDistance("abcd", "wxyz", 1));
+		assertEquals(3, StudentNameIndex.editDistance("kitten", "sitting", 3));
+	}
+
+	@Test
+	void substringMatchesRankAboveFuzzyMatches() {
+		StudentNameIndex index = index(100);
+		index.put(5L, "Anm");
+		index.put(4L, "Joanne");
+		index.put(3L, "Lee Ann");
+		index.put(2L, "Anna Lee");
+		index.put(1L, "Ann");
+
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L), index.search("ann"));
+	}
+
+	@Test
+	void shortQueriesOnlyMatchNameAndWordPrefixes() {
+		StudentNameIndex index = index(100);
+		index.put(1L, "Ann");
+		index.put(2L, "Anna Lee");
+		index.put(3L, "Lee Ann");
+		index.put(4L, "Joanne");
+
+		assertEquals(List.of(1L, 2L, 3L), index.search("an"));
+		assertEquals(List.of(3L), index.findContaining("an", 2L, 10));
+	}
+
+	@Test
+	void searchKeepsOnlyTheBestMatches() {
+		StudentNameIndex index = index(2);
+		index.put(1L, "Lee Ann");
+		index.put(2L, "Anna Lee");
+		index.put(3L, "Ann");
+
+		assertEquals(List.of(3L, 2L), index.search("ann"));
+	}
+
+	@Test
+	void findContainingPagesInIdOrder() {
+		StudentNameIndex index = index(100);
+		for (long id = 1; id <= 5; id++) {
+			index.put(id, "Smith " + id);
+		}
+
+		assertEquals(List.of(1L, 2L), index.findContaining("smith", 0, 2));
+		assertEquals(List.of(3L, 4L), index.findContaining("smith", 2, 2));
+		assertEquals(List.of(), index.findContaining("smith", 5, 2));
+	}
+
+	@Test
+	void renameReplacesTheOldName() {
+		StudentNameIndex index = index(100);
+		index.put(1L, "John Smith");
+		index.put(1L, "John Brown");
+
+		assertEquals(List.of(), index.search("smith"));
+		assertEquals(List.of(1L), index.search("brown"));
+		List<SuggestionDTO> suggestions = index.suggest("bro", 10);
+		assertEquals(1, suggestions.size());
+		assertEquals("John Brown", suggestions.get(0).getName());
+	}
+
+	@Test
+	void deleteRemovesTheName() {
+		StudentNameIndex index = index(100);
+		index.put(1L, "John Smith");
+		index.put(2L, "Jane Smith");
+		index.remove(2L);
+
+		assertEquals(List.of(1L), index.search("smith"));
+		assertEquals(List.of(), index.search("jane"));
+		assertTrue(index.suggest("ja", 10).isEmpty());
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void postingListStaysSortedAndDistinct() {
+		StudentNameIndex.PostingList ids = new StudentNameIndex.PostingList();
+		for (long id : new long[] {7, 3, 9, 3, 1, 5}) {
+			ids.add(id);
+		}
+		assertEquals(5, ids.size());
+		assertEquals(1, ids.get(0));
+		assertEquals(9, ids.get(4));
+		assertEquals(2, ids.indexAfter(3));
+		assertEquals(2, ids.indexAfter(4));
+
+		ids.remove(5);
+		ids.remove(6);
+		assertEquals(4, ids.size());
+		assertFalse(ids.contains(5));
+		assertTrue(ids.contains(7));
+	}
+}
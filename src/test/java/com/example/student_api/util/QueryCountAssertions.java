@@ -0,0 +1,48 @@
+package com.example.student_api.util;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test helpers that count the SQL statements run by a block of code
+ * Counting relies on QueryCountInspector being registered, which application.properties does.
+ */
+public final class QueryCountAssertions {
+
+	private QueryCountAssertions() {
+	}
+
+	/**
+	 * Code under test, typically a MockMvc request
+	 */
+	@FunctionalInterface
+	public interface Action {
+		void run() throws Exception;
+	}
+
+	/**
+	 * Run the action and count its statements
+	 *
+	 * @param action Code under test
+	 * @return Number of statements prepared on this thread while it ran
+	 */
+	public static int countQueries(Action action) throws Exception {
+		try (QueryCounter.Scope scope = QueryCounter.start("test")) {
+			action.run();
+			return scope.getCount();
+		}
+	}
+
+	/**
+	 * Run the action and assert it ran at most the given number of statements
+	 *
+	 * @param maxStatements Maximum number of statements
+	 * @param action Code under test
+	 * @return Number of statements run
+	 */
+	public static int assertMaxQueries(int maxStatements, Action action) throws Exception {
+		int count = countQueries(action);
+		assertTrue(count <= maxStatements,
+				"Expected at most " + maxStatements + " SQL statements but " + count + " were executed");
+		return count;
+	}
+}
@@ -0,0 +1,39 @@
+package com.example.student_api.util;
+
+import com.example.student_api.model.Student;
+import com.example.student_api.repository.StudentRepository;
+
+import java.time.LocalDate;
+
+/**
+ * Test helpers that set up students and build student request bodies
+ */
+public final class StudentFixtures {
+
+	private StudentFixtures() {
+	}
+
+	/**
+	 * Delete every student and save a single new one
+	 *
+	 * @param studentRepository Repository to reset
+	 * @param name Name of the new student
+	 * @return ID of the new student
+	 */
+	public static Long createOnlyStudent(StudentRepository studentRepository, String name) {
+		studentRepository.deleteAllInBatch();
+		Student student = new Student();
+		student.setName(name);
+		student.setBirthDate(LocalDate.of(2001, 2, 3));
+		student.setMobileNo("0400123456");
+		return studentRepository.save(student).getId();
+	}
+
+	/**
+	 * @param name Student name
+	 * @return JSON body of a valid student without a photo
+	 */
+	public static String studentJson(String name) {
+		return "{\"name\":\"" + name + "\",\"birthDate\":\"2001-02-03\",\"mobileNo\":\"0400123456\"}";
+	}
+}